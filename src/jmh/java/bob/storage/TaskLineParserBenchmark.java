@@ -0,0 +1,89 @@
+package bob.storage;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import bob.task.Task;
+import bob.tasktype.Deadline;
+import bob.tasktype.Event;
+import bob.tasktype.Todo;
+import bob.util.DateTimeUtil;
+
+/**
+ * Compares {@link TaskLineParser} with the previous regex-based storage line parser.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TaskLineParserBenchmark {
+    private final String[] lines = {
+        "T | 0 | borrow book",
+        "D | 1 | return book | 2019-12-02 1800",
+        "E | 0 | project meeting | 2019-12-02 1400 | 2019-12-02 1600",
+        "D | 0 | corrupted | not-a-date",
+    };
+
+    /**
+     * Parses every sample line with the single-pass scanner.
+     */
+    @Benchmark
+    public void scanner(Blackhole blackhole) {
+        for (String line : lines) {
+            blackhole.consume(TaskLineParser.parse(line));
+        }
+    }
+
+    /**
+     * Parses every sample line with the previous split/DateTimeFormatter implementation.
+     */
+    @Benchmark
+    public void regexSplit(Blackhole blackhole) {
+        for (String line : lines) {
+            blackhole.consume(parseWithSplit(line));
+        }
+    }
+
+    /**
+     * The storage line parser as it was before {@link TaskLineParser}, kept as the baseline.
+     */
+    private static Task parseWithSplit(String line) {
+        try {
+            String[] parts = line.split("\\s*\\|\\s*");
+            if (parts.length < 3) {
+                return null;
+            }
+
+            Task task;
+            if ("T".equals(parts[0])) {
+                task = new Todo(parts[2]);
+            } else if ("D".equals(parts[0])) {
+                if (parts.length < 4) {
+                    return null;
+                }
+                task = new Deadline(parts[2], LocalDateTime.parse(parts[3], DateTimeUtil.STORAGE_DATE_TIME));
+            } else if ("E".equals(parts[0])) {
+                if (parts.length < 5) {
+                    return null;
+                }
+                LocalDateTime from = LocalDateTime.parse(parts[3], DateTimeUtil.STORAGE_DATE_TIME);
+                LocalDateTime to = LocalDateTime.parse(parts[4], DateTimeUtil.STORAGE_DATE_TIME);
+                task = new Event(parts[2], from, to);
+            } else {
+                return null;
+            }
+
+            task.setStatus("1".equals(parts[1]) ? Task.Status.DONE : Task.Status.NOT_DONE);
+            return task;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
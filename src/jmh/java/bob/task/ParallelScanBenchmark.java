@@ -0,0 +1,97 @@
+package bob.task;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import bob.tasktype.Deadline;
+import bob.tasktype.Event;
+import bob.tasktype.Todo;
+
+/**
+ * Compares sequential and parallel scans of a {@link ColumnarTaskList} across list sizes, to find the
+ * size from which {@link ParallelScan} should split the work ({@link ParallelScan#DEFAULT_THRESHOLD}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ParallelScanBenchmark {
+    @Param({"1000", "8000", "32000", "128000", "1000000"})
+    private int size;
+
+    private ColumnarTaskList sequential;
+    private ColumnarTaskList parallel;
+    private final LocalDate day = LocalDate.of(2025, 1, 15);
+
+    /**
+     * Fills both lists with the same mix of todos, deadlines and events.
+     */
+    @Setup
+    public void setUp() {
+        ArrayList<Task> tasks = new ArrayList<>();
+        Random random = new Random(1);
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 0, 0);
+        for (int i = 0; i < size; i++) {
+            LocalDateTime time = base.plusMinutes(random.nextInt(60 * 24 * 365));
+            String description = "task " + random.nextInt(size) + " for project " + random.nextInt(100);
+            switch (i % 3) {
+            case 0:
+                tasks.add(new Todo(description));
+                break;
+            case 1:
+                tasks.add(new Deadline(description, time));
+                break;
+            default:
+                tasks.add(new Event(description, time, time.plusHours(random.nextInt(48))));
+                break;
+            }
+        }
+        sequential = new ColumnarTaskList(tasks);
+        sequential.setParallelThreshold(Integer.MAX_VALUE);
+        parallel = new ColumnarTaskList(tasks);
+        parallel.setParallelThreshold(0);
+    }
+
+    /**
+     * Finds tasks by keyword on the calling thread.
+     */
+    @Benchmark
+    public Object findSequential() {
+        return sequential.findTasksByKeyword("project 42");
+    }
+
+    /**
+     * Finds tasks by keyword, split across the common pool.
+     */
+    @Benchmark
+    public Object findParallel() {
+        return parallel.findTasksByKeyword("project 42");
+    }
+
+    /**
+     * Finds the tasks on a date on the calling thread.
+     */
+    @Benchmark
+    public Object onDateSequential() {
+        return sequential.getTasksOnDate(day);
+    }
+
+    /**
+     * Finds the tasks on a date, split across the common pool.
+     */
+    @Benchmark
+    public Object onDateParallel() {
+        return parallel.getTasksOnDate(day);
+    }
+}
@@ -0,0 +1,64 @@
+package bob.task;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import bob.tasktype.Deadline;
+import bob.tasktype.Todo;
+
+/**
+ * Measures removing a task from an indexed {@link TaskList} across list sizes. Every task shares most of
+ * its words, so each removal touches posting lists as long as the list; the time per removal should not
+ * grow with the size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskListRemoveBenchmark {
+    @Param({"10000", "100000", "400000"})
+    private int size;
+
+    private TaskList tasks;
+    private int next;
+
+    /**
+     * Fills the list with todos and deadlines that all share the words "buy the book for task".
+     */
+    @Setup
+    public void setUp() {
+        ArrayList<Task> initial = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            initial.add(taskNumber(i));
+        }
+        tasks = new TaskList(initial);
+        next = size;
+    }
+
+    /**
+     * Removes the first task and adds another at the end, so that the list keeps its size.
+     */
+    @Benchmark
+    public Object removeFirst() {
+        Task removed = tasks.remove(0);
+        tasks.add(taskNumber(next++));
+        return removed;
+    }
+
+    private static Task taskNumber(int i) {
+        String description = "buy the book for task " + i;
+        if (i % 2 == 0) {
+            return new Todo(description);
+        }
+        return new Deadline(description, LocalDateTime.of(2025, 1, 1, 0, 0).plusMinutes(i));
+    }
+}
@@ -1,20 +1,28 @@
 package bob;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
-
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import bob.command.Command;
+import bob.command.CommandContext;
+import bob.command.CommandRegistry;
 import bob.command.CommandResult;
 import bob.command.GuiResponse;
-import bob.parser.Parser;
+import bob.storage.KeyValueStorage;
 import bob.storage.Storage;
+import bob.storage.StorageBackend;
+import bob.task.AbstractTaskList;
 import bob.task.Task;
 import bob.task.TaskList;
-import bob.tasktype.Deadline;
-import bob.tasktype.Event;
-import bob.tasktype.Todo;
 import bob.ui.Ui;
 import bob.util.DateTimeUtil;
 
@@ -22,32 +30,101 @@ import bob.util.DateTimeUtil;
  * Runs the Bob chatbot application that manages a list of tasks.
  */
 public class Bob {
-    private static final String ERROR_TASK_NOT_FOUND = "WRONG!!! That task number does not exist.";
-    private static final String ERROR_DELETE_SPECIFY = "WRONG!!! Please specify a task number to delete.";
-    private static final String ERROR_TODO_DESC = "WRONG!!! Add a description for your todo.";
-    private static final String ERROR_DEADLINE_DESC = "WRONG!!! Add a description for your deadline task.";
-    private static final String ERROR_EVENT_DESC = "WRONG!!! Add a description for your event.";
-    private static final String ERROR_FIND_KEYWORD = "WRONG!!! Please specify a keyword to search for.";
-    private static final String ERROR_EVENT_END_AFTER_START = "WRONG!!! Event end time must be after start time.";
-
-    private Storage storage;
-    private TaskList tasks;
+    /** System property that selects the storage backend: {@code journal} (the default) or {@code kv}. */
+    public static final String STORAGE_PROPERTY = "bob.storage";
+    /** Longest rendered task list kept for reuse; longer lists are rendered on every request. */
+    private static final int MAX_CACHED_LIST_CHARS = 64 * 1024;
+
+    private StorageBackend storage;
+    private AbstractTaskList tasks;
     private Ui ui;
+    /** Whether the CLI shows the urgent tasks before every response. */
+    private boolean isShowingUrgentBanners;
+    private CommandContext context;
+    private final CommandRegistry commands = CommandRegistry.withBuiltInCommands();
+    /** Save failures reported by the storage writer thread, waiting to be shown in the CLI. */
+    private final Queue<String> saveErrors = new ConcurrentLinkedQueue<>();
+    /** Rendered task list, reused until the list is modified; null if too long to keep. */
+    private String cachedListText;
+    private int cachedListModCount;
+    /** Rendered urgent banner, reused until the list is modified or the minute changes. */
+    private String cachedUrgentText;
+    private int cachedUrgentModCount;
+    private LocalDateTime cachedUrgentMinute;
 
     /**
-     * Creates a new Bob instance with the given file path.
+     * Creates a new Bob instance with the given file path, using the storage backend selected by the
+     * {@value #STORAGE_PROPERTY} system property.
      *
      * @param filePath Path to the file for storing tasks.
      */
     public Bob(String filePath) {
-        ui = new Ui();
-        storage = new Storage(filePath);
+        this(filePath, new Ui());
+    }
+
+    /**
+     * Creates a new Bob instance with the given file path and Ui, using the storage backend selected by
+     * the {@value #STORAGE_PROPERTY} system property.
+     *
+     * @param filePath Path to the file for storing tasks.
+     * @param ui CLI input and output; its piped mode decides whether urgent tasks are shown by default.
+     */
+    public Bob(String filePath, Ui ui) {
+        this(openStorage(filePath, System.getProperty(STORAGE_PROPERTY, "journal")), ui);
+    }
+
+    /**
+     * Creates a new Bob instance that keeps its tasks in the given storage backend.
+     *
+     * @param storage Backend to load tasks from and save changes to.
+     */
+    public Bob(StorageBackend storage) {
+        this(storage, new Ui());
+    }
+
+    /**
+     * Creates a new Bob instance that keeps its tasks in the given storage backend and talks to the
+     * user through the given Ui.
+     *
+     * @param storage Backend to load tasks from and save changes to.
+     * @param ui CLI input and output; its piped mode decides whether urgent tasks are shown by default.
+     */
+    public Bob(StorageBackend storage, Ui ui) {
+        assert storage != null && ui != null : "storage and ui must not be null";
+        this.ui = ui;
+        isShowingUrgentBanners = !ui.isPiped();
+        this.storage = storage;
         try {
             tasks = new TaskList(storage.load());
+            storage.compactIfNeeded(tasks.getAllTasks());
         } catch (IOException e) {
             ui.showError("Could not load tasks: " + e.getMessage());
             tasks = new TaskList();
         }
+        context = new CommandContext(tasks, storage);
+    }
+
+    /**
+     * Creates the storage backend of the given kind. The key-value store keeps its file next to the
+     * text file, with the extension replaced by {@code .mv.db}.
+     *
+     * @param filePath Path to the text file for storing tasks.
+     * @param kind {@code journal} for the text file plus journal, {@code kv} for the key-value store.
+     * @return Storage backend, not yet loaded.
+     * @throws IllegalArgumentException If the kind is not known.
+     */
+    static StorageBackend openStorage(String filePath, String kind) {
+        switch (kind) {
+        case "journal":
+            return new Storage(filePath);
+        case "kv":
+            int dot = filePath.lastIndexOf('.');
+            String base = (dot > filePath.lastIndexOf('/')) ? filePath.substring(0, dot) : filePath;
+            return new KeyValueStorage(base + ".mv.db");
+        default:
+            throw new IllegalArgumentException("Unknown storage backend '" + kind + "' in " + STORAGE_PROPERTY
+                    + "; expected journal or kv");
+        }
     }
 
     /**
@@ -58,6 +135,9 @@ public class Bob {
 
         while (true) {
             String input = ui.readCommand();
+            if (input == null) {
+                break;
+            }
             CommandResult result = processCommand(input);
 
             if (result.getType() == CommandResult.ResultType.EXIT) {
@@ -65,12 +145,48 @@ public class Bob {
                 break;
             }
 
-            showUrgentTasksIfAny();
+            if (isShowingUrgentBanners) {
+                showUrgentTasksIfAny();
+            }
             dispatchToUi(result);
-        }
+            saveErrorOf(result).thenAccept(error -> {
+                if (error != null) {
+                    saveErrors.add(error);
+                }
+            });
+            showSaveErrors();
+        }
+        close();
+        showSaveErrors();
         ui.close();
     }
 
+    /**
+     * Writes any pending changes to storage and stops its background threads.
+     */
+    public void close() {
+        storage.close();
+    }
+
+    /**
+     * Sets whether the CLI shows the urgent tasks before every response. They are shown by default,
+     * except when input is piped in.
+     *
+     * @param isShowingUrgentBanners Whether to show the urgent tasks.
+     */
+    public void setShowingUrgentBanners(boolean isShowingUrgentBanners) {
+        this.isShowingUrgentBanners = isShowingUrgentBanners;
+    }
+
+    /**
+     * Sets how far ahead a pending deadline has to be due to be shown as urgent.
+     *
+     * @param urgentWindow Length of the urgent window; {@link AbstractTaskList#DEFAULT_URGENT_WINDOW} by default.
+     */
+    public void setUrgentWindow(Duration urgentWindow) {
+        tasks.setUrgentWindow(urgentWindow);
+    }
+
     /**
      * Gets a response from Bob for the given user input.
      * Used by the GUI to process commands and return responses.
@@ -91,59 +207,26 @@ public class Bob {
             response = urgentPrefix + "\n\n" + response;
         }
         boolean isError = result.getType() == CommandResult.ResultType.ERROR;
-        return isError ? GuiResponse.error(response) : GuiResponse.success(response);
+        GuiResponse guiResponse = isError ? GuiResponse.error(response) : GuiResponse.success(response);
+        return guiResponse.withSaveError(saveErrorOf(result));
+    }
+
+    /**
+     * Registers a command under the first word of the input it handles, replacing any command
+     * registered under that word before, including a built-in one.
+     *
+     * @param word First word of the input, matched exactly.
+     * @param command Command to run.
+     */
+    public void registerCommand(String word, Command command) {
+        commands.register(word, command);
     }
 
     /**
      * Processes the user input and returns a CommandResult.
      */
     private CommandResult processCommand(String input) {
-        if (input.equalsIgnoreCase("bye")) {
-            return CommandResult.EXIT;
-        }
-        if (input.equals("list")) {
-            return CommandResult.list(tasks.getAllTasks());
-        }
-        if (input.startsWith(Parser.PREFIX_MARK)) {
-            return handleMark(input);
-        }
-        if (input.startsWith(Parser.PREFIX_UNMARK)) {
-            return handleUnmark(input);
-        }
-        if (input.equals("delete")) {
-            return CommandResult.error(ERROR_DELETE_SPECIFY);
-        }
-        if (input.startsWith(Parser.PREFIX_DELETE)) {
-            return handleDelete(input);
-        }
-        if (input.equals("todo")) {
-            return CommandResult.error(ERROR_TODO_DESC);
-        }
-        if (input.startsWith(Parser.PREFIX_TODO)) {
-            return handleTodo(input);
-        }
-        if (input.equals("deadline")) {
-            return CommandResult.error(ERROR_DEADLINE_DESC);
-        }
-        if (input.startsWith(Parser.PREFIX_DEADLINE)) {
-            return handleDeadline(input);
-        }
-        if (input.equals("event")) {
-            return CommandResult.error(ERROR_EVENT_DESC);
-        }
-        if (input.startsWith(Parser.PREFIX_EVENT)) {
-            return handleEvent(input);
-        }
-        if (input.equals("find")) {
-            return CommandResult.error(ERROR_FIND_KEYWORD);
-        }
-        if (input.startsWith(Parser.PREFIX_FIND)) {
-            return handleFind(input);
-        }
-        if (input.startsWith(Parser.PREFIX_ON)) {
-            return handleOn(input);
-        }
-        return CommandResult.error(CommandResult.UNKNOWN_COMMAND_ERROR);
+        return commands.dispatch(input, context);
     }
 
     private void dispatchToUi(CommandResult result) {
@@ -151,12 +234,18 @@ public class Bob {
         case LIST:
             ui.showTaskList(result.getTaskList());
             break;
+        case LIST_RANGE:
+            ui.showTaskRange(result.getFirstNumber(), tasks.size(), result.getTaskList());
+            break;
         case MATCHING_TASKS:
             ui.showMatchingTasks(result.getTaskList());
             break;
         case TASKS_ON_DATE:
             ui.showTasksOnDate(result.getDate(), result.getTaskList());
             break;
+        case TASKS_BETWEEN:
+            ui.showTasksBetween(result.getDate(), result.getEndDate(), result.getTaskList());
+            break;
         case MESSAGE:
             ui.showMessage(result.getMessage());
             break;
@@ -171,11 +260,15 @@ public class Bob {
     private String formatResult(CommandResult result) {
         switch (result.getType()) {
         case LIST:
-            return formatTaskList(result.getTaskList());
+            return formatTaskList();
+        case LIST_RANGE:
+            return formatTaskRange(result.getFirstNumber(), result.getTaskList());
         case MATCHING_TASKS:
             return formatMatchingTasks(result.getTaskList());
         case TASKS_ON_DATE:
             return formatTasksOnDate(result.getDate(), result.getTaskList());
+        case TASKS_BETWEEN:
+            return formatTasksBetween(result.getDate(), result.getEndDate(), result.getTaskList());
         case MESSAGE:
         case ERROR:
             return result.getMessage();
@@ -184,161 +277,71 @@ public class Bob {
         }
     }
 
-    private CommandResult handleMark(String input) {
-        int idx = Parser.parseIndex(input, Parser.PREFIX_MARK);
-        if (!tasks.isValidIndex(idx)) {
-            return CommandResult.error(ERROR_TASK_NOT_FOUND);
-        }
-        Task task = tasks.get(idx);
-        task.setStatus(Task.Status.DONE);
-        String saveError = saveTasks();
-        if (saveError != null) {
-            return CommandResult.error(saveError);
-        }
-        return CommandResult.message("Nice! I've marked this task as done:\n  " + task);
-    }
-
-    private CommandResult handleUnmark(String input) {
-        int idx = Parser.parseIndex(input, Parser.PREFIX_UNMARK);
-        if (!tasks.isValidIndex(idx)) {
-            return CommandResult.error(ERROR_TASK_NOT_FOUND);
-        }
-        Task task = tasks.get(idx);
-        task.setStatus(Task.Status.NOT_DONE);
-        String saveError = saveTasks();
-        if (saveError != null) {
-            return CommandResult.error(saveError);
-        }
-        return CommandResult.message("OK, I've marked this task as not done yet:\n  " + task);
-    }
-
-    private CommandResult handleDelete(String input) {
-        int idx = Parser.parseIndex(input, Parser.PREFIX_DELETE);
-        if (!tasks.isValidIndex(idx)) {
-            return CommandResult.error(ERROR_TASK_NOT_FOUND);
-        }
-        Task removed = tasks.remove(idx);
-        String saveError = saveTasks();
-        if (saveError != null) {
-            return CommandResult.error(saveError);
-        }
-        return CommandResult.message("Noted. I've removed this task:\n  " + removed
-                + "\nNow you have " + tasks.size() + " tasks in the list.");
-    }
-
-    private CommandResult handleTodo(String input) {
-        String desc = Parser.parseTodoDescription(input);
-        if (desc.isEmpty()) {
-            return CommandResult.error(ERROR_TODO_DESC);
-        }
-        Task task = new Todo(desc);
-        tasks.add(task);
-        String saveError = saveTasks();
-        if (saveError != null) {
-            return CommandResult.error(saveError);
-        }
-        return CommandResult.message("Got it. I've added this task:\n  " + task
-                + "\nNow you have " + tasks.size() + " tasks in the list.");
-    }
-
-    private CommandResult handleDeadline(String input) {
-        String[] args;
-        try {
-            args = Parser.parseDeadlineArgs(input);
-        } catch (IllegalArgumentException e) {
-            return CommandResult.error("WRONG!!! " + e.getMessage());
-        }
-
-        try {
-            LocalDateTime by = DateTimeUtil.parseUserDateTime(args[1]);
-            Task task = new Deadline(args[0], by);
-            tasks.add(task);
-            String saveError = saveTasks();
-            if (saveError != null) {
-                return CommandResult.error(saveError);
-            }
-            return CommandResult.message("Got it. I've added this task:\n  " + task
-                    + "\nNow you have " + tasks.size() + " tasks in the list.");
-        } catch (DateTimeParseException e) {
-            return CommandResult.error(CommandResult.DATE_TIME_FORMAT_HINT);
-        }
-    }
-
-    private CommandResult handleEvent(String input) {
-        String[] args;
-        try {
-            args = Parser.parseEventArgs(input);
-        } catch (IllegalArgumentException e) {
-            return CommandResult.error("WRONG!!! " + e.getMessage());
-        }
-
-        try {
-            LocalDateTime from = DateTimeUtil.parseUserDateTime(args[1]);
-            LocalDateTime to = DateTimeUtil.parseUserDateTime(args[2]);
-            if (to.isBefore(from)) {
-                return CommandResult.error(ERROR_EVENT_END_AFTER_START);
-            }
-            Task task = new Event(args[0], from, to);
-            tasks.add(task);
-            String saveError = saveTasks();
-            if (saveError != null) {
-                return CommandResult.error(saveError);
+    /**
+     * Maps the outcome of a command's save to an error message.
+     * @return Future completing with the error message if the save fails, or null if it succeeds.
+     */
+    private static CompletableFuture<String> saveErrorOf(CommandResult result) {
+        return result.getPendingSave().handle((ignored, e) -> {
+            if (e == null) {
+                return null;
             }
-            return CommandResult.message("Got it. I've added this task:\n  " + task
-                    + "\nNow you have " + tasks.size() + " tasks in the list.");
-        } catch (DateTimeParseException e) {
-            return CommandResult.error(CommandResult.DATE_TIME_FORMAT_HINT);
-        }
-    }
-
-    private CommandResult handleFind(String input) {
-        String keyword = Parser.parseFindKeyword(input);
-        ArrayList<Task> matching = tasks.findTasksByKeyword(keyword);
-        return CommandResult.matchingTasks(matching);
-    }
-
-    private CommandResult handleOn(String input) {
-        try {
-            LocalDate date = Parser.parseOnDate(input);
-            ArrayList<Task> matching = tasks.getTasksOnDate(date);
-            return CommandResult.tasksOnDate(date, matching);
-        } catch (DateTimeParseException e) {
-            return CommandResult.error(CommandResult.DATE_FORMAT_HINT);
-        }
+            Throwable cause = (e.getCause() != null) ? e.getCause() : e;
+            return "Could not save tasks: " + cause.getMessage();
+        });
     }
 
     /**
-     * Saves tasks to storage.
-     * @return Error message if save fails, null on success.
+     * Shows save failures reported since the last command in the CLI.
      */
-    private String saveTasks() {
-        try {
-            storage.save(tasks.getAllTasks());
-            return null;
-        } catch (IOException e) {
-            return "Could not save tasks: " + e.getMessage();
+    private void showSaveErrors() {
+        String error;
+        while ((error = saveErrors.poll()) != null) {
+            ui.showError(error);
         }
     }
 
-    private String formatTaskList(ArrayList<Task> taskList) {
-        assert taskList != null : "taskList must not be null";
-        return formatNumberedList("Here are the tasks in your list:", taskList);
+    /**
+     * Returns the formatted task list, rendering it again only if the list changed since the last call.
+     * Lists longer than {@link #MAX_CACHED_LIST_CHARS} are not kept between calls.
+     */
+    private String formatTaskList() {
+        if (cachedListText != null && cachedListModCount == tasks.getModCount()) {
+            return cachedListText;
+        }
+        String text = formatNumberedList("Here are the tasks in your list:", tasks.getAllTasks());
+        cachedListText = (text.length() <= MAX_CACHED_LIST_CHARS) ? text : null;
+        cachedListModCount = tasks.getModCount();
+        return text;
     }
 
-    private String formatMatchingTasks(ArrayList<Task> matchingTasks) {
+    private String formatMatchingTasks(List<Task> matchingTasks) {
         assert matchingTasks != null : "matchingTasks must not be null";
         return formatNumberedList("Here are the matching tasks in your list:", matchingTasks);
     }
 
-    private String formatNumberedList(String header, ArrayList<Task> taskList) {
-        StringBuilder sb = new StringBuilder(header).append("\n");
-        for (int i = 0; i < taskList.size(); i++) {
-            sb.append(i + 1).append(".").append(taskList.get(i)).append("\n");
+    private String formatTaskRange(int firstNumber, List<Task> taskList) {
+        assert taskList != null && !taskList.isEmpty() : "taskList must not be empty";
+        int lastNumber = firstNumber + taskList.size() - 1;
+        String header = "Here are tasks " + firstNumber + "-" + lastNumber + " of " + tasks.size()
+                + " in your list:";
+        return formatNumberedList(header, taskList, firstNumber);
+    }
+
+    private String formatNumberedList(String header, List<Task> taskList) {
+        return formatNumberedList(header, taskList, 1);
+    }
+
+    private String formatNumberedList(String header, List<Task> taskList, int firstNumber) {
+        StringBuilder sb = new StringBuilder(header);
+        int number = firstNumber;
+        for (Task task : taskList) {
+            task.appendTo(sb.append('\n').append(number++).append('.'));
         }
-        return sb.toString().trim();
+        return sb.toString();
     }
 
-    private String formatTasksOnDate(LocalDate date, ArrayList<Task> taskList) {
+    private String formatTasksOnDate(LocalDate date, List<Task> taskList) {
         assert date != null && taskList != null : "date and taskList must not be null";
         String header = "Here are the tasks occurring on "
                 + DateTimeUtil.formatDateForDisplay(date) + ":";
@@ -348,16 +351,34 @@ public class Bob {
         return formatNumberedList(header, taskList);
     }
 
+    private String formatTasksBetween(LocalDate from, LocalDate to, List<Task> taskList) {
+        assert from != null && to != null && taskList != null : "dates and taskList must not be null";
+        String header = "Here are the tasks occurring from " + DateTimeUtil.formatDateForDisplay(from)
+                + " to " + DateTimeUtil.formatDateForDisplay(to) + ":";
+        if (taskList.isEmpty()) {
+            return header + "\nNo matching tasks.";
+        }
+        return formatNumberedList(header, taskList);
+    }
+
     /**
-     * Returns formatted string of urgent tasks (deadlines within 3 days).
+     * Returns formatted string of urgent tasks (pending deadlines within the urgent window).
      * Returns empty string if no urgent tasks.
+     * The banner is computed at most once per minute, measuring the window from the current time,
+     * and rendered again within the minute only if the list changed.
      */
     private String formatUrgentTasks() {
-        ArrayList<Task> urgent = tasks.getUrgentTasks();
-        if (urgent.isEmpty()) {
-            return "";
-        }
-        return formatNumberedList("URGENT TASKS:", urgent);
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime minute = now.truncatedTo(ChronoUnit.MINUTES);
+        if (cachedUrgentText != null && cachedUrgentModCount == tasks.getModCount()
+                && minute.equals(cachedUrgentMinute)) {
+            return cachedUrgentText;
+        }
+        ArrayList<Task> urgent = tasks.getUrgentTasks(now);
+        cachedUrgentText = urgent.isEmpty() ? "" : formatNumberedList("URGENT TASKS:", urgent);
+        cachedUrgentModCount = tasks.getModCount();
+        cachedUrgentMinute = minute;
+        return cachedUrgentText;
     }
 
     /**
@@ -373,9 +394,26 @@ public class Bob {
     /**
      * Entry point for the Bob chatbot application.
      *
-     * @param args Command line arguments (not used).
+     * @param args Command line arguments; {@code --piped} reads a script from standard input with
+     *     batched output and no urgent tasks, and {@code --urgent} shows the urgent tasks before every
+     *     response even then.
      */
     public static void main(String[] args) {
-        new Bob("data/bob.txt").run();
+        fromArgs("data/bob.txt", Arrays.asList(args)).run();
+    }
+
+    /**
+     * Creates a CLI Bob configured by the command line options given to {@link #main}.
+     *
+     * @param filePath Path to the file for storing tasks.
+     * @param options Command line arguments.
+     * @return Bob reading from standard input and writing to standard output.
+     */
+    static Bob fromArgs(String filePath, List<String> options) {
+        Bob bob = new Bob(filePath, new Ui(options.contains("--piped")));
+        if (options.contains("--urgent")) {
+            bob.setShowingUrgentBanners(true);
+        }
+        return bob;
     }
 }
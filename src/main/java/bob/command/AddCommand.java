@@ -0,0 +1,26 @@
+package bob.command;
+
+import java.util.concurrent.CompletableFuture;
+
+import bob.task.AbstractTaskList;
+import bob.task.Task;
+
+/**
+ * Base for the commands that add a task to the end of the list.
+ */
+abstract class AddCommand implements Command {
+    /**
+     * Adds the task, saves it and reports the new size of the list.
+     *
+     * @param task Task to add.
+     * @param context Tasks and storage to add it to.
+     * @return Result confirming the addition.
+     */
+    protected CommandResult add(Task task, CommandContext context) {
+        AbstractTaskList tasks = context.getTasks();
+        tasks.add(task);
+        CompletableFuture<Void> save = context.persist(context.getStorage().add(task));
+        return CommandResult.message("Got it. I've added this task:\n  " + task
+                + "\nNow you have " + tasks.size() + " tasks in the list.").withPendingSave(save);
+    }
+}
@@ -0,0 +1,27 @@
+package bob.command;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+import bob.parser.Parser;
+
+/**
+ * Handles "between &lt;date&gt; &lt;date&gt;": lists the tasks taking place in a range of days.
+ */
+class BetweenCommand implements Command {
+    @Override
+    public CommandResult execute(String input, CommandContext context) {
+        if (!input.startsWith(Parser.PREFIX_BETWEEN)) {
+            return CommandResult.error(CommandResult.UNKNOWN_COMMAND_ERROR);
+        }
+        try {
+            LocalDate[] range = Parser.parseBetweenDates(input);
+            return CommandResult.tasksBetween(range[0], range[1],
+                    context.getTasks().getTasksBetween(range[0], range[1]));
+        } catch (DateTimeParseException e) {
+            return CommandResult.error(CommandResult.DATE_RANGE_FORMAT_HINT);
+        } catch (IllegalArgumentException e) {
+            return CommandResult.error("WRONG!!! " + e.getMessage());
+        }
+    }
+}
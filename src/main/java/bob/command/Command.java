@@ -0,0 +1,15 @@
+package bob.command;
+
+/**
+ * A command the user can type, registered in a {@link CommandRegistry} under its first word.
+ */
+public interface Command {
+    /**
+     * Runs the command.
+     *
+     * @param input Full user input, trimmed, starting with the word the command is registered under.
+     * @param context Tasks and storage the command works on.
+     * @return Result to show the user.
+     */
+    CommandResult execute(String input, CommandContext context);
+}
@@ -0,0 +1,45 @@
+package bob.command;
+
+import java.util.concurrent.CompletableFuture;
+
+import bob.storage.StorageBackend;
+import bob.task.AbstractTaskList;
+
+/**
+ * The tasks and storage that commands work on.
+ */
+public class CommandContext {
+    private final AbstractTaskList tasks;
+    private final StorageBackend storage;
+
+    /**
+     * Creates a context for commands on the given tasks.
+     *
+     * @param tasks Tasks to work on.
+     * @param storage Backend that saves changes to the tasks.
+     */
+    public CommandContext(AbstractTaskList tasks, StorageBackend storage) {
+        assert tasks != null && storage != null : "tasks and storage must not be null";
+        this.tasks = tasks;
+        this.storage = storage;
+    }
+
+    public AbstractTaskList getTasks() {
+        return tasks;
+    }
+
+    public StorageBackend getStorage() {
+        return storage;
+    }
+
+    /**
+     * Lets the storage backend compact its files in the background after a mutation was recorded.
+     *
+     * @param save Save of the mutation.
+     * @return The given save, for chaining.
+     */
+    public CompletableFuture<Void> persist(CompletableFuture<Void> save) {
+        storage.compactIfNeeded(tasks.getAllTasks());
+        return save;
+    }
+}
@@ -0,0 +1,82 @@
+package bob.command;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Maps the first word of the user's input to the command that handles it.
+ *
+ * <p>Looking up a command is one hash lookup, however many commands are registered.
+ */
+public class CommandRegistry {
+    private final Map<String, Command> commands = new HashMap<>();
+    private final Map<String, Command> commandsIgnoringCase = new HashMap<>();
+
+    /**
+     * Creates a registry holding the built-in commands.
+     *
+     * @return Registry with every built-in command registered.
+     */
+    public static CommandRegistry withBuiltInCommands() {
+        CommandRegistry registry = new CommandRegistry();
+        registry.registerIgnoringCase("bye", new ExitCommand());
+        registry.register("list", new ListCommand());
+        registry.register("mark", new MarkCommand());
+        registry.register("unmark", new UnmarkCommand());
+        registry.register("delete", new DeleteCommand());
+        registry.register("todo", new TodoCommand());
+        registry.register("deadline", new DeadlineCommand());
+        registry.register("event", new EventCommand());
+        registry.register("find", new FindCommand());
+        registry.register("fuzzy", new FuzzyCommand());
+        registry.register("on", new OnCommand());
+        registry.register("between", new BetweenCommand());
+        registry.register("query", new QueryCommand());
+        return registry;
+    }
+
+    /**
+     * Registers a command under a word, replacing any command registered under it before.
+     *
+     * @param word First word of the input the command handles, matched exactly.
+     * @param command Command to run.
+     */
+    public void register(String word, Command command) {
+        assert word != null && !word.isEmpty() && word.indexOf(' ') < 0 : "word must be a single word";
+        assert command != null : "command must not be null";
+        commands.put(word, command);
+    }
+
+    /**
+     * Registers a command under a word matched in any case.
+     *
+     * @param word First word of the input the command handles.
+     * @param command Command to run.
+     */
+    public void registerIgnoringCase(String word, Command command) {
+        assert word != null && !word.isEmpty() && word.indexOf(' ') < 0 : "word must be a single word";
+        assert command != null : "command must not be null";
+        commandsIgnoringCase.put(word.toLowerCase(), command);
+    }
+
+    /**
+     * Runs the command registered under the first word of the input.
+     *
+     * @param input Trimmed user input.
+     * @param context Tasks and storage the command works on.
+     * @return Result of the command, or an error if no command is registered under the word.
+     */
+    public CommandResult dispatch(String input, CommandContext context) {
+        assert input != null && context != null : "input and context must not be null";
+        int space = input.indexOf(' ');
+        String word = (space < 0) ? input : input.substring(0, space);
+        Command command = commands.get(word);
+        if (command == null && !commandsIgnoringCase.isEmpty()) {
+            command = commandsIgnoringCase.get(word.toLowerCase());
+        }
+        if (command == null) {
+            return CommandResult.error(CommandResult.UNKNOWN_COMMAND_ERROR);
+        }
+        return command.execute(input, context);
+    }
+}
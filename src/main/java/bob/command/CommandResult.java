@@ -1,22 +1,31 @@
 package bob.command;
 
 import java.time.LocalDate;
-import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import bob.task.Task;
 
 /**
  * Represents the result of processing a user command.
  * Used to unify CLI and GUI response handling.
+ *
+ * <p>Tasks are carried as a read-only view of the list they were given rather than a copy, so that
+ * listing the tasks costs nothing until they are rendered. A result is rendered before the next
+ * command runs, so a view of the live task list still shows the tasks as the command left them.
  */
 public class CommandResult {
     /** Indicates the user requested to exit. */
-    public static final CommandResult EXIT = new CommandResult(ResultType.EXIT, null, null, null);
+    public static final CommandResult EXIT = new CommandResult(ResultType.EXIT, null, null, null, null, null);
 
     /** Error message for unknown command. */
     public static final String UNKNOWN_COMMAND_ERROR =
             "WRONG!!! I'm sorry, but I don't know what that means :-(";
 
+    /** Error message for a task number that does not exist. */
+    public static final String TASK_NOT_FOUND_ERROR = "WRONG!!! That task number does not exist.";
+
     /** Hint for invalid date/time format. */
     public static final String DATE_TIME_FORMAT_HINT =
             "WRONG!!! Invalid date/time.\nUse formats like:\n  2019-10-15\n  2019-10-15 1800\n  2/12/2019 1800";
@@ -25,48 +34,102 @@ public class CommandResult {
     public static final String DATE_FORMAT_HINT =
             "WRONG!!! Invalid date.\nUse: on yyyy-mm-dd (e.g., on 2019-12-02)";
 
+    /** Hint for invalid date format (between command). */
+    public static final String DATE_RANGE_FORMAT_HINT =
+            "WRONG!!! Invalid date.\nUse: between yyyy-mm-dd yyyy-mm-dd (e.g., between 2019-12-01 2019-12-07)";
+
+    /** Hint for invalid date format (query command). */
+    public static final String QUERY_DATE_FORMAT_HINT =
+            "WRONG!!! Invalid date.\nUse: query before:yyyy-mm-dd (e.g., query type:D before:2019-12-02)";
+
     /**
      * Type of result produced by processing a command.
      */
     public enum ResultType {
         EXIT,
         LIST,
+        LIST_RANGE,
         MATCHING_TASKS,
         TASKS_ON_DATE,
+        TASKS_BETWEEN,
         MESSAGE,
         ERROR
     }
 
     private final ResultType type;
     private final String message;
-    private final ArrayList<Task> taskList;
+    private final List<Task> taskList;
     private final LocalDate date;
+    private final LocalDate endDate;
+    private final CompletableFuture<Void> pendingSave;
+    private final int firstNumber;
 
-    private CommandResult(ResultType type, String message, ArrayList<Task> taskList, LocalDate date) {
+    private CommandResult(ResultType type, String message, List<Task> taskList, LocalDate date,
+            LocalDate endDate, CompletableFuture<Void> pendingSave) {
+        this(type, message, taskList, date, endDate, pendingSave, 1);
+    }
+
+    private CommandResult(ResultType type, String message, List<Task> taskList, LocalDate date,
+            LocalDate endDate, CompletableFuture<Void> pendingSave, int firstNumber) {
         this.type = type;
         this.message = message;
-        this.taskList = taskList;
+        this.taskList = (taskList != null) ? Collections.unmodifiableList(taskList) : null;
         this.date = date;
+        this.endDate = endDate;
+        this.pendingSave = (pendingSave != null) ? pendingSave : CompletableFuture.completedFuture(null);
+        this.firstNumber = firstNumber;
+    }
+
+    /**
+     * Creates a result showing the whole task list.
+     *
+     * @param tasks Tasks in list order; may be a view of the task list itself.
+     * @return Result for the list.
+     */
+    public static CommandResult list(List<Task> tasks) {
+        return new CommandResult(ResultType.LIST, null, tasks, null, null, null);
+    }
+
+    /**
+     * Creates a result showing part of the task list.
+     *
+     * @param firstNumber 1-based number of the first task shown.
+     * @param tasks Tasks shown, in list order.
+     * @return Result for the range.
+     */
+    public static CommandResult listRange(int firstNumber, List<Task> tasks) {
+        return new CommandResult(ResultType.LIST_RANGE, null, tasks, null, null, null, firstNumber);
     }
 
-    public static CommandResult list(ArrayList<Task> tasks) {
-        return new CommandResult(ResultType.LIST, null, tasks, null);
+    public static CommandResult matchingTasks(List<Task> tasks) {
+        return new CommandResult(ResultType.MATCHING_TASKS, null, tasks, null, null, null);
     }
 
-    public static CommandResult matchingTasks(ArrayList<Task> tasks) {
-        return new CommandResult(ResultType.MATCHING_TASKS, null, tasks, null);
+    public static CommandResult tasksOnDate(LocalDate date, List<Task> tasks) {
+        return new CommandResult(ResultType.TASKS_ON_DATE, null, tasks, date, null, null);
     }
 
-    public static CommandResult tasksOnDate(LocalDate date, ArrayList<Task> tasks) {
-        return new CommandResult(ResultType.TASKS_ON_DATE, null, tasks, date);
+    public static CommandResult tasksBetween(LocalDate from, LocalDate to, List<Task> tasks) {
+        return new CommandResult(ResultType.TASKS_BETWEEN, null, tasks, from, to, null);
     }
 
     public static CommandResult message(String msg) {
-        return new CommandResult(ResultType.MESSAGE, msg, null, null);
+        return new CommandResult(ResultType.MESSAGE, msg, null, null, null, null);
     }
 
     public static CommandResult error(String msg) {
-        return new CommandResult(ResultType.ERROR, msg, null, null);
+        return new CommandResult(ResultType.ERROR, msg, null, null, null, null);
+    }
+
+    /**
+     * Returns a copy of this result that carries the save started by the command.
+     *
+     * @param save Future that completes once the command's changes are saved.
+     * @return Result with the given pending save.
+     */
+    public CommandResult withPendingSave(CompletableFuture<Void> save) {
+        assert save != null : "save must not be null";
+        return new CommandResult(type, message, taskList, date, endDate, save, firstNumber);
     }
 
     public ResultType getType() {
@@ -77,11 +140,29 @@ public class CommandResult {
         return message;
     }
 
-    public ArrayList<Task> getTaskList() {
+    public List<Task> getTaskList() {
         return taskList;
     }
 
     public LocalDate getDate() {
         return date;
     }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public int getFirstNumber() {
+        return firstNumber;
+    }
+
+    /**
+     * Returns the save started by the command. The future completes exceptionally if the save fails,
+     * and is already complete for commands that change nothing.
+     *
+     * @return Future for the command's save.
+     */
+    public CompletableFuture<Void> getPendingSave() {
+        return pendingSave;
+    }
 }
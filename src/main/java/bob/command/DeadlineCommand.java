@@ -0,0 +1,35 @@
+package bob.command;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+import bob.parser.Parser;
+import bob.tasktype.Deadline;
+import bob.util.DateTimeUtil;
+
+/**
+ * Handles "deadline &lt;desc&gt; /by &lt;time&gt;": adds a deadline.
+ */
+class DeadlineCommand extends AddCommand {
+    private static final String ERROR_DEADLINE_DESC = "WRONG!!! Add a description for your deadline task.";
+
+    @Override
+    public CommandResult execute(String input, CommandContext context) {
+        if (input.equals("deadline")) {
+            return CommandResult.error(ERROR_DEADLINE_DESC);
+        }
+        String[] args;
+        try {
+            args = Parser.parseDeadlineArgs(input);
+        } catch (IllegalArgumentException e) {
+            return CommandResult.error("WRONG!!! " + e.getMessage());
+        }
+
+        try {
+            LocalDateTime by = DateTimeUtil.parseUserDateTime(args[1]);
+            return add(new Deadline(args[0], by), context);
+        } catch (DateTimeParseException e) {
+            return CommandResult.error(CommandResult.DATE_TIME_FORMAT_HINT);
+        }
+    }
+}
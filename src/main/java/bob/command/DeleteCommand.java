@@ -0,0 +1,33 @@
+package bob.command;
+
+import java.util.concurrent.CompletableFuture;
+
+import bob.parser.Parser;
+import bob.task.AbstractTaskList;
+import bob.task.Task;
+
+/**
+ * Handles "delete &lt;n&gt;": removes a task.
+ */
+class DeleteCommand implements Command {
+    private static final String ERROR_DELETE_SPECIFY = "WRONG!!! Please specify a task number to delete.";
+
+    @Override
+    public CommandResult execute(String input, CommandContext context) {
+        if (input.equals("delete")) {
+            return CommandResult.error(ERROR_DELETE_SPECIFY);
+        }
+        if (!input.startsWith(Parser.PREFIX_DELETE)) {
+            return CommandResult.error(CommandResult.UNKNOWN_COMMAND_ERROR);
+        }
+        AbstractTaskList tasks = context.getTasks();
+        int idx = Parser.parseIndex(input, Parser.PREFIX_DELETE);
+        if (!tasks.isValidIndex(idx)) {
+            return CommandResult.error(CommandResult.TASK_NOT_FOUND_ERROR);
+        }
+        Task removed = tasks.remove(idx);
+        CompletableFuture<Void> save = context.persist(context.getStorage().delete(removed));
+        return CommandResult.message("Noted. I've removed this task:\n  " + removed
+                + "\nNow you have " + tasks.size() + " tasks in the list.").withPendingSave(save);
+    }
+}
@@ -0,0 +1,40 @@
+package bob.command;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+import bob.parser.Parser;
+import bob.tasktype.Event;
+import bob.util.DateTimeUtil;
+
+/**
+ * Handles "event &lt;desc&gt; /from &lt;start&gt; /to &lt;end&gt;": adds an event.
+ */
+class EventCommand extends AddCommand {
+    private static final String ERROR_EVENT_DESC = "WRONG!!! Add a description for your event.";
+    private static final String ERROR_EVENT_END_AFTER_START = "WRONG!!! Event end time must be after start time.";
+
+    @Override
+    public CommandResult execute(String input, CommandContext context) {
+        if (input.equals("event")) {
+            return CommandResult.error(ERROR_EVENT_DESC);
+        }
+        String[] args;
+        try {
+            args = Parser.parseEventArgs(input);
+        } catch (IllegalArgumentException e) {
+            return CommandResult.error("WRONG!!! " + e.getMessage());
+        }
+
+        try {
+            LocalDateTime from = DateTimeUtil.parseUserDateTime(args[1]);
+            LocalDateTime to = DateTimeUtil.parseUserDateTime(args[2]);
+            if (to.isBefore(from)) {
+                return CommandResult.error(ERROR_EVENT_END_AFTER_START);
+            }
+            return add(new Event(args[0], from, to), context);
+        } catch (DateTimeParseException e) {
+            return CommandResult.error(CommandResult.DATE_TIME_FORMAT_HINT);
+        }
+    }
+}
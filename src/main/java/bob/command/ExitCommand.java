@@ -0,0 +1,14 @@
+package bob.command;
+
+/**
+ * Handles "bye": ends the session.
+ */
+class ExitCommand implements Command {
+    @Override
+    public CommandResult execute(String input, CommandContext context) {
+        if (input.indexOf(' ') >= 0) {
+            return CommandResult.error(CommandResult.UNKNOWN_COMMAND_ERROR);
+        }
+        return CommandResult.EXIT;
+    }
+}
@@ -0,0 +1,19 @@
+package bob.command;
+
+import bob.parser.Parser;
+
+/**
+ * Handles "find &lt;keyword&gt;": lists the tasks whose description contains the keyword.
+ */
+class FindCommand implements Command {
+    private static final String ERROR_FIND_KEYWORD = "WRONG!!! Please specify a keyword to search for.";
+
+    @Override
+    public CommandResult execute(String input, CommandContext context) {
+        if (input.equals("find")) {
+            return CommandResult.error(ERROR_FIND_KEYWORD);
+        }
+        String keyword = Parser.parseFindKeyword(input);
+        return CommandResult.matchingTasks(context.getTasks().findTasksByKeyword(keyword));
+    }
+}
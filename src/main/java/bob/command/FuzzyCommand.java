@@ -0,0 +1,21 @@
+package bob.command;
+
+import bob.parser.Parser;
+
+/**
+ * Handles "fuzzy &lt;text&gt;": lists the tasks closest to the text, tolerating typos.
+ */
+class FuzzyCommand implements Command {
+    /** Most tasks shown for a fuzzy search. */
+    private static final int FUZZY_RESULT_LIMIT = 10;
+    private static final String ERROR_FUZZY_TEXT = "WRONG!!! Please specify some text to search for.";
+
+    @Override
+    public CommandResult execute(String input, CommandContext context) {
+        if (input.equals("fuzzy")) {
+            return CommandResult.error(ERROR_FUZZY_TEXT);
+        }
+        String text = Parser.parseFuzzyText(input);
+        return CommandResult.matchingTasks(context.getTasks().findTasksFuzzy(text, FUZZY_RESULT_LIMIT));
+    }
+}
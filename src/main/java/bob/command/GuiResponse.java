@@ -1,5 +1,7 @@
 package bob.command;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Represents Bob's response for the GUI.
  * Encapsulates both the message to display and whether it indicates an error.
@@ -7,31 +9,48 @@ package bob.command;
 public class GuiResponse {
     private final String message;
     private final boolean isError;
+    private final CompletableFuture<String> saveError;
 
-    private GuiResponse(String message, boolean isError) {
+    private GuiResponse(String message, boolean isError, CompletableFuture<String> saveError) {
         this.message = message;
         this.isError = isError;
+        this.saveError = saveError;
     }
 
     /**
      * Creates a normal (success) response.
      */
     public static GuiResponse success(String message) {
-        return new GuiResponse(message, false);
+        return new GuiResponse(message, false, CompletableFuture.completedFuture(null));
     }
 
     /**
      * Creates an error response.
      */
     public static GuiResponse error(String message) {
-        return new GuiResponse(message, true);
+        return new GuiResponse(message, true, CompletableFuture.completedFuture(null));
     }
 
     public String getMessage() {
         return message;
     }
 
+    /**
+     * Returns a copy of this response that reports the outcome of the command's save.
+     *
+     * @param saveError Future that completes with an error message if the save fails, or null if it succeeds.
+     * @return Response with the given save outcome.
+     */
+    public GuiResponse withSaveError(CompletableFuture<String> saveError) {
+        assert saveError != null : "saveError must not be null";
+        return new GuiResponse(message, isError, saveError);
+    }
+
     public boolean isError() {
         return isError;
     }
+
+    public CompletableFuture<String> getSaveError() {
+        return saveError;
+    }
 }
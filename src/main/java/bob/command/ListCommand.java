@@ -0,0 +1,36 @@
+package bob.command;
+
+import bob.parser.Parser;
+import bob.task.AbstractTaskList;
+
+/**
+ * Handles "list", "list &lt;from&gt;-&lt;to&gt;" and "list page &lt;n&gt;": shows all or part of the task list.
+ */
+class ListCommand implements Command {
+    @Override
+    public CommandResult execute(String input, CommandContext context) {
+        AbstractTaskList tasks = context.getTasks();
+        if (input.equals("list")) {
+            return CommandResult.list(tasks.getAllTasks());
+        }
+        return listRange(input, tasks);
+    }
+
+    /**
+     * Lists one range or page of the task list as a view of the tasks shown.
+     */
+    private CommandResult listRange(String input, AbstractTaskList tasks) {
+        int[] range;
+        try {
+            range = Parser.parseListRange(input);
+        } catch (IllegalArgumentException e) {
+            return CommandResult.error("WRONG!!! " + e.getMessage());
+        }
+        int size = tasks.size();
+        if (range[0] > size) {
+            return CommandResult.error("WRONG!!! There are only " + size + " tasks in the list.");
+        }
+        int last = Math.min(range[1], size);
+        return CommandResult.listRange(range[0], tasks.getAllTasks().subList(range[0] - 1, last));
+    }
+}
@@ -0,0 +1,28 @@
+package bob.command;
+
+import java.util.concurrent.CompletableFuture;
+
+import bob.parser.Parser;
+import bob.task.AbstractTaskList;
+import bob.task.Task;
+
+/**
+ * Handles "mark &lt;n&gt;": marks a task as done.
+ */
+class MarkCommand implements Command {
+    @Override
+    public CommandResult execute(String input, CommandContext context) {
+        if (!input.startsWith(Parser.PREFIX_MARK)) {
+            return CommandResult.error(CommandResult.UNKNOWN_COMMAND_ERROR);
+        }
+        AbstractTaskList tasks = context.getTasks();
+        int idx = Parser.parseIndex(input, Parser.PREFIX_MARK);
+        if (!tasks.isValidIndex(idx)) {
+            return CommandResult.error(CommandResult.TASK_NOT_FOUND_ERROR);
+        }
+        Task task = tasks.setStatus(idx, Task.Status.DONE);
+        CompletableFuture<Void> save = context.persist(context.getStorage().update(task));
+        return CommandResult.message("Nice! I've marked this task as done:\n  " + task)
+                .withPendingSave(save);
+    }
+}
@@ -0,0 +1,24 @@
+package bob.command;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+import bob.parser.Parser;
+
+/**
+ * Handles "on &lt;date&gt;": lists the tasks taking place on a day.
+ */
+class OnCommand implements Command {
+    @Override
+    public CommandResult execute(String input, CommandContext context) {
+        if (!input.startsWith(Parser.PREFIX_ON)) {
+            return CommandResult.error(CommandResult.UNKNOWN_COMMAND_ERROR);
+        }
+        try {
+            LocalDate date = Parser.parseOnDate(input);
+            return CommandResult.tasksOnDate(date, context.getTasks().getTasksOnDate(date));
+        } catch (DateTimeParseException e) {
+            return CommandResult.error(CommandResult.DATE_FORMAT_HINT);
+        }
+    }
+}
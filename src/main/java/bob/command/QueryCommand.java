@@ -0,0 +1,34 @@
+package bob.command;
+
+import java.time.format.DateTimeParseException;
+
+import bob.parser.Parser;
+import bob.query.Query;
+import bob.query.QueryPlan;
+import bob.query.QueryPlanner;
+import bob.task.AbstractTaskList;
+
+/**
+ * Handles "query &lt;field:value&gt;...": lists the tasks satisfying every condition.
+ */
+class QueryCommand implements Command {
+    private static final String ERROR_QUERY_CONDITIONS =
+            "WRONG!!! Please specify conditions, e.g. query type:D done:no desc:report before:2025-12-01";
+
+    @Override
+    public CommandResult execute(String input, CommandContext context) {
+        if (input.equals("query")) {
+            return CommandResult.error(ERROR_QUERY_CONDITIONS);
+        }
+        AbstractTaskList tasks = context.getTasks();
+        try {
+            Query query = Parser.parseQuery(input);
+            QueryPlan plan = QueryPlanner.plan(query, tasks);
+            return CommandResult.matchingTasks(plan.execute(tasks));
+        } catch (DateTimeParseException e) {
+            return CommandResult.error(CommandResult.QUERY_DATE_FORMAT_HINT);
+        } catch (IllegalArgumentException e) {
+            return CommandResult.error("WRONG!!! " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package bob.command;
+
+import bob.parser.Parser;
+import bob.tasktype.Todo;
+
+/**
+ * Handles "todo &lt;desc&gt;": adds a todo.
+ */
+class TodoCommand extends AddCommand {
+    private static final String ERROR_TODO_DESC = "WRONG!!! Add a description for your todo.";
+
+    @Override
+    public CommandResult execute(String input, CommandContext context) {
+        if (input.equals("todo")) {
+            return CommandResult.error(ERROR_TODO_DESC);
+        }
+        String desc = Parser.parseTodoDescription(input);
+        if (desc.isEmpty()) {
+            return CommandResult.error(ERROR_TODO_DESC);
+        }
+        return add(new Todo(desc), context);
+    }
+}
@@ -0,0 +1,28 @@
+package bob.command;
+
+import java.util.concurrent.CompletableFuture;
+
+import bob.parser.Parser;
+import bob.task.AbstractTaskList;
+import bob.task.Task;
+
+/**
+ * Handles "unmark &lt;n&gt;": marks a task as not done.
+ */
+class UnmarkCommand implements Command {
+    @Override
+    public CommandResult execute(String input, CommandContext context) {
+        if (!input.startsWith(Parser.PREFIX_UNMARK)) {
+            return CommandResult.error(CommandResult.UNKNOWN_COMMAND_ERROR);
+        }
+        AbstractTaskList tasks = context.getTasks();
+        int idx = Parser.parseIndex(input, Parser.PREFIX_UNMARK);
+        if (!tasks.isValidIndex(idx)) {
+            return CommandResult.error(CommandResult.TASK_NOT_FOUND_ERROR);
+        }
+        Task task = tasks.setStatus(idx, Task.Status.NOT_DONE);
+        CompletableFuture<Void> save = context.persist(context.getStorage().update(task));
+        return CommandResult.message("OK, I've marked this task as not done yet:\n  " + task)
+                .withPendingSave(save);
+    }
+}
@@ -30,4 +30,9 @@ public class Main extends Application {
             e.printStackTrace();
         }
     }
+
+    @Override
+    public void stop() {
+        bob.close();
+    }
 }
@@ -1,6 +1,7 @@
 package bob.gui;
 
 import bob.Bob;
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
 import javafx.scene.control.ScrollPane;
@@ -90,5 +91,13 @@ public class MainWindow extends AnchorPane {
         );
         userInput.clear();
         updateInputHeight(); // Reset to minimum height after clearing
+
+        // Saving happens off the JavaFX thread; report a failure once it is known
+        response.getSaveError().thenAccept(error -> {
+            if (error != null) {
+                Platform.runLater(() -> dialogContainer.getChildren().add(
+                        DialogBox.getBobDialog(error, bobImage, true)));
+            }
+        });
     }
 }
@@ -1,13 +1,20 @@
 package bob.parser;
 
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 
+import bob.query.Query;
+import bob.query.QueryParser;
+import bob.util.DateTimeUtil;
+
 /**
  * Parses user commands and extracts relevant information from them.
  */
 public class Parser {
+    /** Command prefix for list command with a range or page. */
+    public static final String PREFIX_LIST = "list ";
+    /** Number of tasks on each page of "list page <n>". */
+    public static final int LIST_PAGE_SIZE = 50;
     /** Command prefix for mark command. */
     public static final String PREFIX_MARK = "mark ";
     /** Command prefix for unmark command. */
@@ -22,8 +29,14 @@ public class Parser {
     public static final String PREFIX_EVENT = "event ";
     /** Command prefix for find command. */
     public static final String PREFIX_FIND = "find ";
+    /** Command prefix for fuzzy command. */
+    public static final String PREFIX_FUZZY = "fuzzy ";
     /** Command prefix for on command. */
     public static final String PREFIX_ON = "on ";
+    /** Command prefix for between command. */
+    public static final String PREFIX_BETWEEN = "between ";
+    /** Command prefix for query command. */
+    public static final String PREFIX_QUERY = "query ";
 
     /** Length of "/by" substring for deadline parsing. */
     private static final int BY_PREFIX_LENGTH = 3;
@@ -50,6 +63,42 @@ public class Parser {
         }
     }
 
+    /**
+     * Parses the range of task numbers from a "list <from>-<to>" or "list page <n>" command.
+     *
+     * @param input Full user input (e.g. "list 51-100" or "list page 2").
+     * @return Array containing the first task number at index 0 and the last at index 1, both 1-based.
+     * @throws IllegalArgumentException If the range or page is malformed.
+     */
+    public static int[] parseListRange(String input) throws IllegalArgumentException {
+        assert input != null && input.startsWith(PREFIX_LIST)
+                : "input must start with 'list '";
+        String rest = input.substring(PREFIX_LIST.length()).trim();
+        try {
+            if (rest.startsWith("page ")) {
+                long page = Integer.parseInt(rest.substring("page ".length()).trim());
+                if (page < 1) {
+                    throw new IllegalArgumentException("Pages are numbered from 1.");
+                }
+                long first = (page - 1) * LIST_PAGE_SIZE + 1;
+                long last = page * LIST_PAGE_SIZE;
+                return new int[]{(int) Math.min(first, Integer.MAX_VALUE), (int) Math.min(last, Integer.MAX_VALUE)};
+            }
+            int dash = rest.indexOf('-');
+            if (dash > 0) {
+                int first = Integer.parseInt(rest.substring(0, dash).trim());
+                int last = Integer.parseInt(rest.substring(dash + 1).trim());
+                if (first < 1 || last < first) {
+                    throw new IllegalArgumentException("A range must go from a task number up to a later one.");
+                }
+                return new int[]{first, last};
+            }
+        } catch (NumberFormatException e) {
+            // fall through to the usage message
+        }
+        throw new IllegalArgumentException("Use 'list', 'list <from>-<to>' or 'list page <n>'.");
+    }
+
     /**
      * Parses the description from a todo command.
      *
@@ -144,6 +193,18 @@ public class Parser {
         return input.substring(PREFIX_FIND.length()).trim();
     }
 
+    /**
+     * Parses the search text from a fuzzy command.
+     *
+     * @param input Full user input (e.g. "fuzzy meetng").
+     * @return The trimmed text to search for.
+     */
+    public static String parseFuzzyText(String input) {
+        assert input != null && input.startsWith(PREFIX_FUZZY)
+                : "input must start with 'fuzzy '";
+        return input.substring(PREFIX_FUZZY.length()).trim();
+    }
+
     /**
      * Parses the date from an "on" command.
      *
@@ -155,6 +216,44 @@ public class Parser {
         assert input != null && input.startsWith(PREFIX_ON)
                 : "input must start with 'on '";
         String dateRaw = input.substring(PREFIX_ON.length()).trim();
-        return LocalDate.parse(dateRaw, DateTimeFormatter.ofPattern("yyyy-MM-dd"));
+        return LocalDate.parse(dateRaw, DateTimeUtil.INPUT_DATE);
+    }
+
+    /**
+     * Parses the conditions of a "query" command.
+     *
+     * @param input Full user input (e.g. "query type:D done:no desc:report").
+     * @return The parsed query.
+     * @throws IllegalArgumentException If a condition is malformed or there are none.
+     * @throws DateTimeParseException If a date format is invalid.
+     */
+    public static Query parseQuery(String input) throws IllegalArgumentException, DateTimeParseException {
+        assert input != null && input.startsWith(PREFIX_QUERY)
+                : "input must start with 'query '";
+        return QueryParser.parse(input.substring(PREFIX_QUERY.length()));
+    }
+
+    /**
+     * Parses the first and last dates from a "between" command.
+     *
+     * @param input Full user input (e.g. "between 2019-12-01 2019-12-07").
+     * @return Array containing the first date at index 0 and the last date at index 1.
+     * @throws IllegalArgumentException If the command does not have two dates in order.
+     * @throws DateTimeParseException If a date format is invalid.
+     */
+    public static LocalDate[] parseBetweenDates(String input) throws IllegalArgumentException, DateTimeParseException {
+        assert input != null && input.startsWith(PREFIX_BETWEEN)
+                : "input must start with 'between '";
+        String[] parts = input.substring(PREFIX_BETWEEN.length()).trim().split("\\s+");
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("A range must be 'between <yyyy-mm-dd> <yyyy-mm-dd>'");
+        }
+
+        LocalDate from = LocalDate.parse(parts[0], DateTimeUtil.INPUT_DATE);
+        LocalDate to = LocalDate.parse(parts[1], DateTimeUtil.INPUT_DATE);
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("The range must not end before it starts.");
+        }
+        return new LocalDate[]{from, to};
     }
 }
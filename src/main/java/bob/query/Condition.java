@@ -0,0 +1,94 @@
+package bob.query;
+
+import java.time.LocalDate;
+
+import bob.task.Task;
+import bob.tasktype.Deadline;
+import bob.tasktype.Event;
+import bob.tasktype.Todo;
+
+/**
+ * A single condition of a {@link Query}, such as {@code type:D} or {@code before:2025-12-01}.
+ */
+public interface Condition {
+    /**
+     * Returns whether the task satisfies this condition.
+     *
+     * @param task Task to check.
+     * @return True if the task matches.
+     */
+    boolean matches(Task task);
+
+    /**
+     * {@code type:T}, {@code type:D} or {@code type:E}: the task is of the given kind.
+     *
+     * @param code Type code as shown in the task list: 'T', 'D' or 'E'.
+     */
+    record Type(char code) implements Condition {
+        @Override
+        public boolean matches(Task task) {
+            switch (code) {
+            case 'D':
+                return task instanceof Deadline;
+            case 'E':
+                return task instanceof Event;
+            default:
+                return task instanceof Todo;
+            }
+        }
+    }
+
+    /**
+     * {@code done:yes} or {@code done:no}: the task is or is not done.
+     *
+     * @param isDone Whether matching tasks are done.
+     */
+    record Done(boolean isDone) implements Condition {
+        @Override
+        public boolean matches(Task task) {
+            return (task.getStatus() == Task.Status.DONE) == isDone;
+        }
+    }
+
+    /**
+     * {@code desc:<keyword>}: the description contains the keyword, ignoring case.
+     *
+     * @param keyword Keyword to look for.
+     */
+    record Description(String keyword) implements Condition {
+        @Override
+        public boolean matches(Task task) {
+            return task.getDescription().toLowerCase().contains(keyword.toLowerCase());
+        }
+    }
+
+    /**
+     * {@code before:<date>}: a deadline due, or an event taking place, on a day before the date.
+     *
+     * @param date First day that no longer matches.
+     */
+    record Before(LocalDate date) implements Condition {
+        @Override
+        public boolean matches(Task task) {
+            if (task instanceof Deadline) {
+                return ((Deadline) task).getBy().isBefore(date.atStartOfDay());
+            }
+            return task instanceof Event && ((Event) task).getFrom().isBefore(date.atStartOfDay());
+        }
+    }
+
+    /**
+     * {@code after:<date>}: a deadline due, or an event taking place, on a day after the date.
+     *
+     * @param date Last day that does not match yet.
+     */
+    record After(LocalDate date) implements Condition {
+        @Override
+        public boolean matches(Task task) {
+            if (task instanceof Deadline) {
+                return !((Deadline) task).getBy().isBefore(date.plusDays(1).atStartOfDay());
+            }
+            return task instanceof Event && !((Event) task).getTo().isBefore(date.plusDays(1).atStartOfDay());
+        }
+    }
+}
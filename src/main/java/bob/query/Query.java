@@ -0,0 +1,117 @@
+package bob.query;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import bob.task.Task;
+
+/**
+ * A parsed {@code query} command: the conditions that every returned task must satisfy.
+ */
+public class Query {
+    /** Earliest day a date range can start on. */
+    static final LocalDate EARLIEST_DAY = LocalDate.MIN;
+    /** Latest day a date range can end on, leaving room for the day after it. */
+    static final LocalDate LATEST_DAY = LocalDate.MAX.minusDays(1);
+
+    private final List<Condition> conditions;
+
+    /**
+     * Creates a query that matches the tasks satisfying all of the given conditions.
+     *
+     * @param conditions Conditions to combine.
+     */
+    public Query(List<Condition> conditions) {
+        assert conditions != null && !conditions.isEmpty() : "a query needs at least one condition";
+        this.conditions = List.copyOf(conditions);
+    }
+
+    public List<Condition> getConditions() {
+        return conditions;
+    }
+
+    /**
+     * Returns whether the task satisfies every condition.
+     *
+     * @param task Task to check.
+     * @return True if the task matches the query.
+     */
+    public boolean matches(Task task) {
+        for (Condition condition : conditions) {
+            if (!condition.matches(task)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the keywords of the {@code desc:} conditions.
+     *
+     * @return Keywords in the order they were given.
+     */
+    List<String> keywords() {
+        List<String> keywords = new ArrayList<>();
+        for (Condition condition : conditions) {
+            if (condition instanceof Condition.Description) {
+                keywords.add(((Condition.Description) condition).keyword());
+            }
+        }
+        return keywords;
+    }
+
+    /**
+     * Returns whether the query has any {@code before:} or {@code after:} condition.
+     */
+    boolean hasDateRange() {
+        return conditions.stream().anyMatch(c -> c instanceof Condition.Before || c instanceof Condition.After);
+    }
+
+    /**
+     * Returns the first day a matching task can take place on, from the {@code after:} conditions.
+     */
+    LocalDate firstDay() {
+        LocalDate first = EARLIEST_DAY;
+        for (Condition condition : conditions) {
+            if (condition instanceof Condition.After) {
+                LocalDate dayAfter = ((Condition.After) condition).date().plusDays(1);
+                first = dayAfter.isAfter(first) ? dayAfter : first;
+            }
+        }
+        return first;
+    }
+
+    /**
+     * Returns the last day a matching task can take place on, from the {@code before:} conditions.
+     */
+    LocalDate lastDay() {
+        LocalDate last = LATEST_DAY;
+        for (Condition condition : conditions) {
+            if (condition instanceof Condition.Before) {
+                LocalDate dayBefore = ((Condition.Before) condition).date().minusDays(1);
+                last = dayBefore.isBefore(last) ? dayBefore : last;
+            }
+        }
+        return last;
+    }
+
+    /**
+     * Returns whether an event can satisfy the {@code type:} conditions.
+     */
+    boolean mayMatchEvents() {
+        for (Condition condition : conditions) {
+            if (condition instanceof Condition.Type && ((Condition.Type) condition).code() != 'E') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns whether the query only matches deadlines that are not done.
+     */
+    boolean isPendingDeadlinesOnly() {
+        return conditions.contains(new Condition.Type('D')) && conditions.contains(new Condition.Done(false));
+    }
+}
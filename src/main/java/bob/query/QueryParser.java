@@ -0,0 +1,129 @@
+package bob.query;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+import bob.util.DateTimeUtil;
+
+/**
+ * Parses the conditions of a {@code query} command into a {@link Query}.
+ *
+ * <p>Conditions are {@code field:value} pairs separated by spaces, e.g.
+ * {@code type:D done:no desc:report before:2025-12-01}. A value containing spaces can be quoted,
+ * as in {@code desc:"weekly report"}.
+ */
+public class QueryParser {
+    /**
+     * Parses the conditions of a query.
+     *
+     * @param text Conditions, without the command word.
+     * @return The parsed query.
+     * @throws IllegalArgumentException If a condition is malformed or there are none.
+     * @throws DateTimeParseException If a date is not in yyyy-mm-dd format.
+     */
+    public static Query parse(String text) throws IllegalArgumentException, DateTimeParseException {
+        assert text != null : "text must not be null";
+        List<Condition> conditions = new ArrayList<>();
+        for (String term : splitTerms(text)) {
+            conditions.add(parseCondition(term));
+        }
+        if (conditions.isEmpty()) {
+            throw new IllegalArgumentException("A query needs at least one condition, e.g. 'query type:D done:no'.");
+        }
+        return new Query(conditions);
+    }
+
+    private static Condition parseCondition(String term) {
+        int colon = term.indexOf(':');
+        if (colon <= 0) {
+            throw new IllegalArgumentException("Conditions look like 'field:value', not '" + term + "'.");
+        }
+        String field = term.substring(0, colon).toLowerCase();
+        String value = unquote(term.substring(colon + 1));
+        if (value.isEmpty()) {
+            throw new IllegalArgumentException("The condition '" + field + ":' needs a value.");
+        }
+
+        switch (field) {
+        case "type":
+            return new Condition.Type(parseType(value));
+        case "done":
+            return new Condition.Done(parseDone(value));
+        case "desc":
+            return new Condition.Description(value);
+        case "before":
+            return new Condition.Before(LocalDate.parse(value, DateTimeUtil.INPUT_DATE));
+        case "after":
+            return new Condition.After(LocalDate.parse(value, DateTimeUtil.INPUT_DATE));
+        default:
+            throw new IllegalArgumentException(
+                    "Unknown query field '" + field + "'. Use type, done, desc, before or after.");
+        }
+    }
+
+    private static char parseType(String value) {
+        switch (value.toLowerCase()) {
+        case "t":
+        case "todo":
+            return 'T';
+        case "d":
+        case "deadline":
+            return 'D';
+        case "e":
+        case "event":
+            return 'E';
+        default:
+            throw new IllegalArgumentException("A type must be T, D or E, not '" + value + "'.");
+        }
+    }
+
+    private static boolean parseDone(String value) {
+        switch (value.toLowerCase()) {
+        case "yes":
+        case "true":
+            return true;
+        case "no":
+        case "false":
+            return false;
+        default:
+            throw new IllegalArgumentException("done must be yes or no, not '" + value + "'.");
+        }
+    }
+
+    /**
+     * Splits the text at spaces outside double quotes.
+     */
+    private static List<String> splitTerms(String text) {
+        List<String> terms = new ArrayList<>();
+        StringBuilder term = new StringBuilder();
+        boolean isQuoted = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"') {
+                isQuoted = !isQuoted;
+            }
+            if (Character.isWhitespace(c) && !isQuoted) {
+                if (term.length() > 0) {
+                    terms.add(term.toString());
+                    term.setLength(0);
+                }
+            } else {
+                term.append(c);
+            }
+        }
+        if (isQuoted) {
+            throw new IllegalArgumentException("A quote is missing its closing '\"'.");
+        }
+        if (term.length() > 0) {
+            terms.add(term.toString());
+        }
+        return terms;
+    }
+
+    private static String unquote(String value) {
+        boolean isQuoted = value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"");
+        return isQuoted ? value.substring(1, value.length() - 1) : value;
+    }
+}
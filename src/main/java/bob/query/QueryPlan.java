@@ -0,0 +1,86 @@
+package bob.query;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+
+import bob.task.AbstractTaskList;
+import bob.task.Task;
+
+/**
+ * How a {@link Query} will be answered: the index that supplies the candidate tasks, which are then
+ * checked against every condition of the query.
+ */
+public class QueryPlan {
+    /**
+     * Where the candidate tasks come from.
+     */
+    public enum AccessPath {
+        /** No task can satisfy the conditions; nothing is looked up. */
+        NONE,
+        /** Every task is checked. */
+        SCAN,
+        /** Tasks whose description contains one of the keywords, from the keyword index. */
+        KEYWORD,
+        /** Deadlines and events in the date range, from the date index. */
+        DATE_RANGE,
+        /** Deadlines not yet done in the date range, from the index of pending deadlines. */
+        PENDING_DEADLINES
+    }
+
+    private final Query query;
+    private final AccessPath accessPath;
+    private final String keyword;
+    private final LocalDate firstDay;
+    private final LocalDate lastDay;
+    private final int estimatedCandidates;
+
+    QueryPlan(Query query, AccessPath accessPath, String keyword, LocalDate firstDay, LocalDate lastDay,
+            int estimatedCandidates) {
+        this.query = query;
+        this.accessPath = accessPath;
+        this.keyword = keyword;
+        this.firstDay = firstDay;
+        this.lastDay = lastDay;
+        this.estimatedCandidates = estimatedCandidates;
+    }
+
+    public AccessPath getAccessPath() {
+        return accessPath;
+    }
+
+    public int getEstimatedCandidates() {
+        return estimatedCandidates;
+    }
+
+    /**
+     * Runs the query against the tasks.
+     *
+     * @param tasks Tasks to query; the same list the plan was made for.
+     * @return Matching tasks, in list order.
+     */
+    public ArrayList<Task> execute(AbstractTaskList tasks) {
+        assert tasks != null : "tasks must not be null";
+        ArrayList<Task> matching = new ArrayList<>();
+        for (Task task : candidates(tasks)) {
+            if (query.matches(task)) {
+                matching.add(task);
+            }
+        }
+        return matching;
+    }
+
+    private Iterable<Task> candidates(AbstractTaskList tasks) {
+        switch (accessPath) {
+        case NONE:
+            return new ArrayList<>();
+        case KEYWORD:
+            return tasks.findTasksByKeyword(keyword);
+        case DATE_RANGE:
+            return tasks.getTasksBetween(firstDay, lastDay);
+        case PENDING_DEADLINES:
+            return tasks.getPendingDeadlinesBetween(firstDay, lastDay);
+        default:
+            return tasks.getAllTasks();
+        }
+    }
+}
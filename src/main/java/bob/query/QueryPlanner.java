@@ -0,0 +1,63 @@
+package bob.query;
+
+import java.time.LocalDate;
+
+import bob.task.AbstractTaskList;
+
+/**
+ * Chooses how to answer a {@link Query}: asks the task list how many candidates each usable index
+ * would return and picks the smallest, falling back to checking every task.
+ *
+ * <p>Estimates stop counting at the best candidate count found so far, so estimating a poor index
+ * costs no more than using the good one.
+ */
+public class QueryPlanner {
+    /**
+     * Plans a query against the given tasks.
+     *
+     * @param query Query to plan.
+     * @param tasks Tasks the query will run against.
+     * @return Plan for answering the query.
+     */
+    public static QueryPlan plan(Query query, AbstractTaskList tasks) {
+        assert query != null && tasks != null : "query and tasks must not be null";
+        LocalDate first = query.firstDay();
+        LocalDate last = query.lastDay();
+        if (first.isAfter(last)) {
+            if (!query.mayMatchEvents()) {
+                return new QueryPlan(query, QueryPlan.AccessPath.NONE, null, first, last, 0);
+            }
+            // Only an event that starts by the last day and ends on or after the first day can match,
+            // and every such event overlaps the days between them.
+            LocalDate swapped = first;
+            first = last;
+            last = swapped;
+        }
+
+        QueryPlan.AccessPath best = QueryPlan.AccessPath.SCAN;
+        String bestKeyword = null;
+        int bestCount = tasks.size();
+        for (String keyword : query.keywords()) {
+            int count = tasks.estimateKeywordMatches(keyword, bestCount);
+            if (count < bestCount) {
+                best = QueryPlan.AccessPath.KEYWORD;
+                bestKeyword = keyword;
+                bestCount = count;
+            }
+        }
+        if (query.isPendingDeadlinesOnly()) {
+            int count = tasks.estimatePendingDeadlinesBetween(first, last, bestCount);
+            if (count < bestCount) {
+                best = QueryPlan.AccessPath.PENDING_DEADLINES;
+                bestCount = count;
+            }
+        } else if (query.hasDateRange()) {
+            int count = tasks.estimateTasksBetween(first, last, bestCount);
+            if (count < bestCount) {
+                best = QueryPlan.AccessPath.DATE_RANGE;
+                bestCount = count;
+            }
+        }
+        return new QueryPlan(query, best, bestKeyword, first, last, bestCount);
+    }
+}
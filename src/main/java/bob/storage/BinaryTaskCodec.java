@@ -0,0 +1,239 @@
+package bob.storage;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import bob.task.Task;
+import bob.tasktype.Deadline;
+import bob.tasktype.Event;
+import bob.tasktype.Todo;
+import bob.util.DateTimeUtil;
+
+/**
+ * Reads and writes a compact binary task format.
+ *
+ * <p>The file starts with {@link #MAGIC} and a version byte, followed by the task count as a varint.
+ * Each task is its id as a varint, then a record of one flags byte (type in the low two bits, done in
+ * bit 2), the UTF-8 description prefixed by its varint length, and zero to two zig-zag varint
+ * timestamps in minutes since the epoch. Version 1 files have the same records without ids.
+ * A snapshot only re-encodes tasks that changed since the last one and copies the other records from it.
+ */
+class BinaryTaskCodec implements TaskCodec {
+    /** File signature; the last byte keeps it from being mistaken for a text line. */
+    static final byte[] MAGIC = {'B', 'O', 'B', (byte) 0xB1};
+    /** Current format version. */
+    static final int VERSION = 2;
+    /** Format version written before tasks had ids. */
+    private static final int VERSION_WITHOUT_IDS = 1;
+
+    private static final int TYPE_TODO = 0;
+    private static final int TYPE_DEADLINE = 1;
+    private static final int TYPE_EVENT = 2;
+    private static final int TYPE_MASK = 0b11;
+    private static final int DONE_FLAG = 0b100;
+    /** Upper bound on the initial list capacity, so a corrupted count cannot exhaust memory. */
+    private static final int MAX_INITIAL_CAPACITY = 1 << 16;
+
+    private final SplicingSnapshotWriter writer = new SplicingSnapshotWriter(BinaryTaskCodec::encodeTaskWithId);
+
+    /**
+     * Returns whether the given file starts with the binary format's signature.
+     *
+     * @param file File to inspect.
+     * @return True if the file is in the binary format.
+     * @throws IOException If the file cannot be read.
+     */
+    static boolean isBinary(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            byte[] header = in.readNBytes(MAGIC.length);
+            return Arrays.equals(header, MAGIC);
+        }
+    }
+
+    @Override
+    public ArrayList<Task> read(Path file) throws IOException {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+            byte[] header = in.readNBytes(MAGIC.length);
+            if (!Arrays.equals(header, MAGIC)) {
+                throw new IOException("Not a binary task file: " + file);
+            }
+            int version = in.read();
+            if (version != VERSION && version != VERSION_WITHOUT_IDS) {
+                throw new IOException("Unsupported task file version: " + version);
+            }
+            boolean hasIds = version != VERSION_WITHOUT_IDS;
+
+            long count = readVarLong(in);
+            ArrayList<Task> tasks = new ArrayList<>((int) Math.max(0, Math.min(count, MAX_INITIAL_CAPACITY)));
+            try {
+                for (long i = 0; i < count; i++) {
+                    long id = hasIds ? readVarLong(in) : Task.NO_ID;
+                    Task task = readTask(in);
+                    if (task == null) {
+                        break; // unknown type -> the rest of the file cannot be framed
+                    }
+                    if (id > Task.NO_ID) {
+                        task.setId(id);
+                    }
+                    tasks.add(task);
+                }
+            } catch (EOFException e) {
+                // truncated file -> keep the tasks read so far
+            }
+            return tasks;
+        }
+    }
+
+    @Override
+    public void write(Path file, List<Task> tasks, Path previous) throws IOException {
+        ByteArrayOutputStream header = new ByteArrayOutputStream();
+        header.write(MAGIC);
+        header.write(VERSION);
+        writeVarLong(header, tasks.size());
+        writer.write(file, header.toByteArray(), tasks, previous);
+    }
+
+    /**
+     * Encodes a single task in the same record layout as a task in a binary file, without its id.
+     *
+     * @param task Task to encode.
+     * @return Encoded record.
+     */
+    static byte[] encodeTask(Task task) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            writeTask(out, task);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // cannot happen for an in-memory stream
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] encodeTaskWithId(Task task) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            writeVarLong(out, task.getId());
+            writeTask(out, task);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // cannot happen for an in-memory stream
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Decodes a record produced by {@link #encodeTask(Task)}.
+     *
+     * @param bytes Encoded record.
+     * @return Decoded task, or null if the record is corrupted.
+     */
+    static Task decodeTask(byte[] bytes) {
+        try {
+            return readTask(new ByteArrayInputStream(bytes));
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static void writeTask(OutputStream out, Task task) throws IOException {
+        int flags = (task.getStatus() == Task.Status.DONE) ? DONE_FLAG : 0;
+        if (task instanceof Deadline) {
+            flags |= TYPE_DEADLINE;
+        } else if (task instanceof Event) {
+            flags |= TYPE_EVENT;
+        } else {
+            flags |= TYPE_TODO;
+        }
+        out.write(flags);
+
+        byte[] description = task.getDescription().getBytes(StandardCharsets.UTF_8);
+        writeVarLong(out, description.length);
+        out.write(description);
+
+        if (task instanceof Deadline) {
+            writeVarLong(out, zigZag(DateTimeUtil.toEpochMinute(((Deadline) task).getBy())));
+        } else if (task instanceof Event) {
+            Event event = (Event) task;
+            writeVarLong(out, zigZag(DateTimeUtil.toEpochMinute(event.getFrom())));
+            writeVarLong(out, zigZag(DateTimeUtil.toEpochMinute(event.getTo())));
+        }
+    }
+
+    private static Task readTask(InputStream in) throws IOException {
+        int flags = in.read();
+        if (flags < 0) {
+            throw new EOFException();
+        }
+        long length = readVarLong(in);
+        if (length > Integer.MAX_VALUE) {
+            throw new EOFException(); // corrupted length -> treat like a truncated file
+        }
+        byte[] bytes = in.readNBytes((int) length);
+        if (bytes.length < length) {
+            throw new EOFException();
+        }
+        String description = new String(bytes, StandardCharsets.UTF_8);
+
+        Task task;
+        switch (flags & TYPE_MASK) {
+        case TYPE_TODO:
+            task = new Todo(description);
+            break;
+        case TYPE_DEADLINE:
+            task = new Deadline(description, DateTimeUtil.fromEpochMinute(unZigZag(readVarLong(in))));
+            break;
+        case TYPE_EVENT:
+            LocalDateTime from = DateTimeUtil.fromEpochMinute(unZigZag(readVarLong(in)));
+            LocalDateTime to = DateTimeUtil.fromEpochMinute(unZigZag(readVarLong(in)));
+            task = new Event(description, from, to);
+            break;
+        default:
+            return null;
+        }
+        task.setStatus((flags & DONE_FLAG) != 0 ? Task.Status.DONE : Task.Status.NOT_DONE);
+        return task;
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void writeVarLong(OutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarLong(InputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                throw new EOFException();
+            }
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+}
@@ -0,0 +1,13 @@
+package bob.storage;
+
+/**
+ * How eagerly journaled writes are forced to the storage device.
+ */
+public enum Durability {
+    /** Every group commit is fsync'ed before its writes are reported as saved. */
+    SYNC_EVERY_COMMIT,
+    /** Writes are fsync'ed at most once per sync interval; a crash may lose the last interval. */
+    SYNC_INTERVAL,
+    /** Writes are left to the operating system's page cache, as a plain file write would be. */
+    OS_BUFFERED
+}
@@ -0,0 +1,259 @@
+package bob.storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Appends lines to a file on a dedicated writer thread.
+ * Requests that queue up while a write is in progress are coalesced into a single write
+ * (a group commit), and each request's future completes once its group has been written
+ * with the configured {@link Durability}.
+ */
+class GroupCommitWriter {
+    /**
+     * A file operation that must run on the writer thread, in order with the queued appends.
+     */
+    @FunctionalInterface
+    interface FileAction {
+        void run() throws IOException;
+    }
+
+    /** Marker request that tells the writer thread to stop. */
+    private static final Request SHUTDOWN = new Request(null, null);
+
+    private final Path path;
+    private final Durability durability;
+    private final long syncIntervalMillis;
+    private final BlockingQueue<Request> queue = new LinkedBlockingQueue<>();
+    private final Thread thread;
+    private FileChannel channel;
+    private boolean hasUnsyncedWrites;
+    private long lastSyncMillis;
+    private volatile boolean isClosed;
+
+    /**
+     * Creates a writer for the given file and starts its writer thread.
+     *
+     * @param path File to append to.
+     * @param durability When to force written data to the device.
+     * @param syncIntervalMillis Maximum time between syncs for {@link Durability#SYNC_INTERVAL}.
+     */
+    GroupCommitWriter(Path path, Durability durability, long syncIntervalMillis) {
+        assert durability != null && syncIntervalMillis > 0 : "invalid durability settings";
+        this.path = path;
+        this.durability = durability;
+        this.syncIntervalMillis = syncIntervalMillis;
+        this.thread = new Thread(this::runLoop, "bob-storage-writer");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Queues a line to be appended to the file.
+     *
+     * @param line Line to append (without a line terminator).
+     * @return Future that completes once the line has been written, or exceptionally if it could not be.
+     */
+    CompletableFuture<Void> append(String line) {
+        return enqueue(new Request(line, null));
+    }
+
+    /**
+     * Queues an operation on the file, such as moving or deleting it.
+     * The operation runs after every previously queued line has been written, with the file closed.
+     *
+     * @param action Operation to run.
+     * @return Future that completes once the operation has run.
+     */
+    CompletableFuture<Void> execute(FileAction action) {
+        return enqueue(new Request(null, action));
+    }
+
+    /**
+     * Blocks until every queued request has been processed.
+     */
+    void flush() {
+        execute(() -> { }).exceptionally(e -> null).join();
+    }
+
+    /**
+     * Writes every queued request, forces the file to the device and stops the writer thread.
+     */
+    void close() {
+        if (isClosed) {
+            return;
+        }
+        flush();
+        isClosed = true;
+        queue.add(SHUTDOWN);
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private CompletableFuture<Void> enqueue(Request request) {
+        if (isClosed) {
+            request.future.completeExceptionally(new IOException("Storage is closed"));
+        } else {
+            queue.add(request);
+        }
+        return request.future;
+    }
+
+    private void runLoop() {
+        List<Request> batch = new ArrayList<>();
+        while (true) {
+            Request first;
+            try {
+                first = queue.poll(syncIntervalMillis, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                continue;
+            }
+            if (first == null) {
+                syncIfDue(System.currentTimeMillis());
+                continue;
+            }
+            batch.add(first);
+            queue.drainTo(batch);
+            boolean isShutdown = processBatch(batch);
+            batch.clear();
+            if (isShutdown) {
+                closeChannel();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Writes consecutive appends in the batch as one group and runs file actions in between.
+     *
+     * @return True if the batch contained the shutdown marker.
+     */
+    private boolean processBatch(List<Request> batch) {
+        List<Request> group = new ArrayList<>();
+        StringBuilder text = new StringBuilder();
+        for (Request request : batch) {
+            if (request == SHUTDOWN) {
+                commit(group, text);
+                return true;
+            }
+            if (request.line != null) {
+                group.add(request);
+                text.append(request.line).append(System.lineSeparator());
+                continue;
+            }
+            commit(group, text);
+            try {
+                closeChannel();
+                request.action.run();
+                request.future.complete(null);
+            } catch (IOException | RuntimeException e) {
+                request.future.completeExceptionally(e);
+            }
+        }
+        commit(group, text);
+        return false;
+    }
+
+    private void commit(List<Request> group, StringBuilder text) {
+        if (group.isEmpty()) {
+            return;
+        }
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(text.toString().getBytes(StandardCharsets.UTF_8));
+            FileChannel out = openChannel();
+            while (buffer.hasRemaining()) {
+                out.write(buffer);
+            }
+            hasUnsyncedWrites = true;
+            long now = System.currentTimeMillis();
+            if (durability == Durability.SYNC_EVERY_COMMIT) {
+                sync(now);
+            } else {
+                syncIfDue(now);
+            }
+            for (Request request : group) {
+                request.future.complete(null);
+            }
+        } catch (IOException e) {
+            closeChannel();
+            for (Request request : group) {
+                request.future.completeExceptionally(e);
+            }
+        }
+        group.clear();
+        text.setLength(0);
+    }
+
+    private FileChannel openChannel() throws IOException {
+        if (channel == null) {
+            Path directory = path.getParent();
+            if (directory != null) {
+                Files.createDirectories(directory);
+            }
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND);
+        }
+        return channel;
+    }
+
+    private void syncIfDue(long now) {
+        if (durability == Durability.SYNC_INTERVAL && now - lastSyncMillis >= syncIntervalMillis) {
+            try {
+                sync(now);
+            } catch (IOException e) {
+                // Retried at the next interval; the data is still in the page cache.
+            }
+        }
+    }
+
+    private void sync(long now) throws IOException {
+        if (channel != null && hasUnsyncedWrites) {
+            channel.force(false);
+            hasUnsyncedWrites = false;
+        }
+        lastSyncMillis = now;
+    }
+
+    private void closeChannel() {
+        if (channel == null) {
+            return;
+        }
+        try {
+            if (durability != Durability.OS_BUFFERED) {
+                sync(System.currentTimeMillis());
+            }
+            channel.close();
+        } catch (IOException e) {
+            // Nothing more can be done for an unusable channel.
+        }
+        channel = null;
+    }
+
+    /**
+     * A queued line or file action together with the future reported to its caller.
+     */
+    private static class Request {
+        private final String line;
+        private final FileAction action;
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        Request(String line, FileAction action) {
+            this.line = line;
+            this.action = action;
+        }
+    }
+}
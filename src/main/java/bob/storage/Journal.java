@@ -0,0 +1,152 @@
+package bob.storage;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Append-only log of task mutations that sits next to the snapshot file.
+ * Each mutation is written as one small text record so that a change costs O(1) I/O
+ * instead of a rewrite of the whole task file. Writes are handed to a {@link GroupCommitWriter},
+ * so callers never wait for the disk.
+ */
+class Journal {
+    /** Record prefix for an added task (followed by the task's storage line). */
+    static final String ADD = "add ";
+    /** Record prefix for a task marked as done (followed by its id). */
+    static final String DONE = "done ";
+    /** Record prefix for a task marked as not done (followed by its id). */
+    static final String NOT_DONE = "undone ";
+    /** Record prefix for a deleted task (followed by its id). */
+    static final String REMOVE = "remove ";
+
+    private final Path path;
+    private final GroupCommitWriter writer;
+    private int recordCount;
+    private long byteCount;
+
+    /**
+     * Creates a journal backed by the given file.
+     *
+     * @param path Path of the journal file.
+     * @param durability When appended records are forced to the device.
+     * @param syncIntervalMillis Maximum time between syncs for {@link Durability#SYNC_INTERVAL}.
+     */
+    Journal(Path path, Durability durability, long syncIntervalMillis) {
+        this.path = path;
+        this.writer = new GroupCommitWriter(path, durability, syncIntervalMillis);
+    }
+
+    /**
+     * Queues a single record to be appended to the end of the journal.
+     *
+     * @param record Record to append (without a line terminator).
+     * @return Future that completes once the record has been written.
+     */
+    CompletableFuture<Void> append(String record) {
+        assert record != null && !record.contains("\n") : "record must be a single line";
+        recordCount++;
+        byteCount += record.length() + 1;
+        return writer.append(record);
+    }
+
+    /**
+     * Reads every record in the journal, in the order they were appended.
+     *
+     * @return Records in the journal. Returns an empty list if the journal does not exist.
+     * @throws IOException If there is an error reading the journal.
+     */
+    ArrayList<String> readRecords() throws IOException {
+        writer.flush();
+        ArrayList<String> records = readRecords(path);
+        recordCount = records.size();
+        byteCount = Files.exists(path) ? Files.size(path) : 0;
+        return records;
+    }
+
+    /**
+     * Reads every record in the given journal file, in the order they were appended.
+     *
+     * @param file Journal file to read.
+     * @return Records in the file. Returns an empty list if the file does not exist.
+     * @throws IOException If there is an error reading the file.
+     */
+    static ArrayList<String> readRecords(Path file) throws IOException {
+        ArrayList<String> records = new ArrayList<>();
+        if (!Files.exists(file)) {
+            return records;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(file)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                records.add(line);
+            }
+        }
+        return records;
+    }
+
+    /**
+     * Moves the records queued so far to the given file and starts a new, empty journal.
+     * Records queued after this call go to the new journal.
+     *
+     * @param target File to move the current records to.
+     * @return Future that completes once the journal has been moved.
+     */
+    CompletableFuture<Void> rotateTo(Path target) {
+        recordCount = 0;
+        byteCount = 0;
+        return writer.execute(() -> {
+            if (Files.exists(path)) {
+                Files.move(path, target, StandardCopyOption.ATOMIC_MOVE);
+            }
+        });
+    }
+
+    /**
+     * Discards all records, typically after they have been folded into a snapshot.
+     *
+     * @throws IOException If the journal cannot be deleted.
+     */
+    void clear() throws IOException {
+        recordCount = 0;
+        byteCount = 0;
+        try {
+            writer.execute(() -> Files.deleteIfExists(path)).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Writes every queued record and stops the writer thread.
+     */
+    void close() {
+        writer.close();
+    }
+
+    /**
+     * Returns the number of records appended since the journal was last read, rotated or cleared.
+     *
+     * @return Number of records in the journal.
+     */
+    int getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Returns the approximate size of the journal in bytes.
+     *
+     * @return Size of the journal in bytes.
+     */
+    long getByteCount() {
+        return byteCount;
+    }
+}
@@ -0,0 +1,221 @@
+package bob.storage;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import bob.task.Task;
+
+/**
+ * Folds rotated journals into a fresh snapshot on a background thread.
+ *
+ * <p>When a compaction starts, the active journal is renamed to {@code <journal>.<generation>} and a
+ * copy of the current task list is taken. The background thread then writes the snapshot to a
+ * temporary file, renames it to {@code <snapshot>.<generation>} (the commit point), deletes every
+ * rotated journal up to that generation, and finally replaces the snapshot. {@link #recover()} finishes
+ * or discards an interrupted compaction on the next load, so a crash never loses or replays records twice.
+ */
+class JournalCompactor {
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final Path snapshotPath;
+    private final Path journalPath;
+    private final Storage storage;
+    private final ExecutorService executor;
+    private Future<?> running;
+    private long lastGeneration;
+
+    /**
+     * Creates a compactor for the given snapshot and journal files.
+     *
+     * @param snapshotPath Path of the snapshot (task) file.
+     * @param journalPath Path of the active journal file.
+     * @param storage Storage used to write snapshots.
+     */
+    JournalCompactor(Path snapshotPath, Path journalPath, Storage storage) {
+        this.snapshotPath = snapshotPath;
+        this.journalPath = journalPath;
+        this.storage = storage;
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "bob-journal-compactor");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Completes a compaction that reached its commit point before the application stopped,
+     * and removes any half-written snapshot.
+     *
+     * @throws IOException If the files cannot be cleaned up.
+     */
+    void recover() throws IOException {
+        Files.deleteIfExists(tempSnapshotPath());
+        long committed = -1;
+        for (long generation : generations(snapshotPath)) {
+            committed = Math.max(committed, generation);
+        }
+        if (committed < 0) {
+            return;
+        }
+        for (long generation : generations(snapshotPath)) {
+            if (generation != committed) {
+                Files.deleteIfExists(generationPath(snapshotPath, generation));
+            }
+        }
+        finish(committed);
+    }
+
+    /**
+     * Returns the rotated journals that have not been folded into the snapshot yet, oldest first.
+     *
+     * @return Paths of the rotated journals.
+     * @throws IOException If the directory cannot be listed.
+     */
+    List<Path> rotatedJournals() throws IOException {
+        List<Path> journals = new ArrayList<>();
+        for (long generation : generations(journalPath)) {
+            journals.add(generationPath(journalPath, generation));
+            lastGeneration = Math.max(lastGeneration, generation);
+        }
+        return journals;
+    }
+
+    /**
+     * Returns whether a compaction is currently running in the background.
+     *
+     * @return True if a compaction is in progress.
+     */
+    synchronized boolean isRunning() {
+        return running != null && !running.isDone();
+    }
+
+    /**
+     * Rotates the active journal and starts folding it into a new snapshot in the background.
+     * The rotation is queued behind the journal's pending writes, so the caller never blocks on I/O.
+     *
+     * @param journal Active journal to rotate.
+     * @param tasks Current tasks; copied before this method returns.
+     */
+    synchronized void start(Journal journal, List<Task> tasks) {
+        assert !isRunning() : "only one compaction may run at a time";
+        long generation = ++lastGeneration;
+        CompletableFuture<Void> rotation = journal.rotateTo(generationPath(journalPath, generation));
+        List<Task> snapshot = new ArrayList<>(tasks);
+        running = executor.submit(() -> {
+            try {
+                rotation.join();
+                compact(generation, snapshot);
+            } catch (IOException | CompletionException e) {
+                // Rotated journals are kept, so the next compaction or load picks them up.
+            }
+        });
+    }
+
+    /**
+     * Blocks until the running compaction, if any, has finished.
+     */
+    void awaitIdle() {
+        Future<?> current;
+        synchronized (this) {
+            current = running;
+        }
+        if (current == null) {
+            return;
+        }
+        try {
+            current.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // Failures are already handled inside the compaction task.
+        }
+    }
+
+    /**
+     * Waits for the running compaction and stops the background thread.
+     */
+    void close() {
+        awaitIdle();
+        executor.shutdown();
+        try {
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Deletes every rotated journal, typically after a full snapshot has been saved.
+     *
+     * @throws IOException If a journal cannot be deleted.
+     */
+    void deleteRotatedJournals() throws IOException {
+        for (Path journal : rotatedJournals()) {
+            Files.deleteIfExists(journal);
+        }
+    }
+
+    private void compact(long generation, List<Task> snapshot) throws IOException {
+        Path temp = tempSnapshotPath();
+        storage.writeSnapshot(temp, snapshot);
+        Files.move(temp, generationPath(snapshotPath, generation), StandardCopyOption.ATOMIC_MOVE);
+        finish(generation);
+    }
+
+    private void finish(long generation) throws IOException {
+        for (long journalGeneration : generations(journalPath)) {
+            if (journalGeneration <= generation) {
+                Files.deleteIfExists(generationPath(journalPath, journalGeneration));
+            }
+        }
+        Files.move(generationPath(snapshotPath, generation), snapshotPath,
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Returns the file a snapshot is written to before it is renamed into place.
+     */
+    Path tempSnapshotPath() {
+        return snapshotPath.resolveSibling(snapshotPath.getFileName() + TEMP_SUFFIX);
+    }
+
+    private static Path generationPath(Path base, long generation) {
+        return base.resolveSibling(base.getFileName() + "." + generation);
+    }
+
+    /**
+     * Returns the generations of the numbered siblings of the given file, in ascending order.
+     */
+    private static List<Long> generations(Path base) throws IOException {
+        List<Long> generations = new ArrayList<>();
+        Path directory = base.toAbsolutePath().getParent();
+        if (directory == null || !Files.isDirectory(directory)) {
+            return generations;
+        }
+        String prefix = base.getFileName() + ".";
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory, prefix + "*")) {
+            for (Path entry : entries) {
+                String suffix = entry.getFileName().toString().substring(prefix.length());
+                try {
+                    generations.add(Long.parseLong(suffix));
+                } catch (NumberFormatException e) {
+                    // not a numbered sibling (e.g. the journal of the snapshot) -> ignore
+                }
+            }
+        }
+        generations.sort(null);
+        return generations;
+    }
+}
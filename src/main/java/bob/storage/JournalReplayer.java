@@ -0,0 +1,99 @@
+package bob.storage;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import bob.task.Task;
+
+/**
+ * Applies journal records to the tasks read from a snapshot.
+ *
+ * <p>Records refer to tasks by id, so each one is applied through a map instead of a search of the
+ * list, and removals are collected and applied in one pass at the end.
+ * Corrupted records (e.g. a partially written last line) and records for unknown tasks are skipped.
+ */
+class JournalReplayer {
+    private final ArrayList<Task> tasks;
+    private final Map<Long, Task> tasksById = new HashMap<>();
+    private final Set<Long> removedIds = new HashSet<>();
+
+    /**
+     * Creates a replayer that applies records to the given tasks.
+     *
+     * @param tasks Tasks read from the snapshot, in list order.
+     */
+    JournalReplayer(ArrayList<Task> tasks) {
+        this.tasks = tasks;
+        for (Task task : tasks) {
+            if (task.getId() != Task.NO_ID) {
+                tasksById.put(task.getId(), task);
+            }
+        }
+    }
+
+    /**
+     * Applies a single journal record.
+     *
+     * @param record Journal record.
+     */
+    void replay(String record) {
+        assert record != null : "record must not be null";
+        if (record.startsWith(Journal.ADD)) {
+            Task task = TextTaskCodec.parseTaskLine(record.substring(Journal.ADD.length()));
+            if (task != null) {
+                tasks.add(task);
+                if (task.getId() != Task.NO_ID) {
+                    tasksById.put(task.getId(), task);
+                }
+            }
+        } else if (record.startsWith(Journal.DONE)) {
+            setStatus(parseNumber(record, Journal.DONE), Task.Status.DONE);
+        } else if (record.startsWith(Journal.NOT_DONE)) {
+            setStatus(parseNumber(record, Journal.NOT_DONE), Task.Status.NOT_DONE);
+        } else if (record.startsWith(Journal.REMOVE)) {
+            long id = parseNumber(record, Journal.REMOVE);
+            if (tasksById.remove(id) != null) {
+                removedIds.add(id);
+            }
+        }
+        // unknown record -> skip
+    }
+
+    /**
+     * Applies the collected removals and returns the resulting tasks.
+     *
+     * @return Tasks with every record applied, in list order.
+     */
+    ArrayList<Task> finish() {
+        applyRemovals();
+        return tasks;
+    }
+
+    private void setStatus(long id, Task.Status status) {
+        Task task = tasksById.get(id);
+        if (task != null) {
+            task.setStatus(status);
+        }
+    }
+
+    private void applyRemovals() {
+        if (!removedIds.isEmpty()) {
+            tasks.removeIf(task -> removedIds.contains(task.getId()));
+            removedIds.clear();
+        }
+    }
+
+    /**
+     * Returns the number following the prefix, or -1 if the record is corrupted.
+     */
+    private static long parseNumber(String record, String prefix) {
+        try {
+            return Long.parseLong(record.substring(prefix.length()).trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
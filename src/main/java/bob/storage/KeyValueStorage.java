@@ -0,0 +1,253 @@
+package bob.storage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.h2.mvstore.MVMap;
+import org.h2.mvstore.MVStore;
+import org.h2.mvstore.MVStoreException;
+
+import bob.task.Task;
+import bob.task.TaskList;
+
+/**
+ * Stores tasks in an embedded H2 MVStore, a B-tree page file, so that changing one task writes
+ * only the pages on that task's path instead of the whole list.
+ *
+ * <p>Each task is stored under its id. Ids increase along the list, so iterating the map in key order
+ * yields the tasks in list order. Values are single tasks in the {@link BinaryTaskCodec} record layout.
+ * Changes are applied to the map immediately and committed on a background thread; changes made
+ * while a commit is pending share that commit.
+ */
+public class KeyValueStorage implements StorageBackend {
+    private static final String MAP_NAME = "tasks";
+
+    private final Path filePath;
+    private final Durability durability;
+    private final long syncIntervalMillis;
+    private final ExecutorService committer;
+    private MVStore store;
+    private MVMap<Long, byte[]> map;
+    private CompletableFuture<Void> pendingCommit;
+    private long lastSyncMillis;
+    private volatile boolean isClosed;
+
+    /**
+     * Creates a key-value storage in the given file that leaves durability to the operating system.
+     *
+     * @param filePath Path to the store file.
+     */
+    public KeyValueStorage(String filePath) {
+        this(filePath, Durability.OS_BUFFERED, Storage.DEFAULT_SYNC_INTERVAL_MILLIS);
+    }
+
+    /**
+     * Creates a key-value storage in the given file.
+     *
+     * @param filePath Path to the store file.
+     * @param durability When to force committed changes to the storage device.
+     * @param syncIntervalMillis Maximum time between syncs for {@link Durability#SYNC_INTERVAL}.
+     */
+    public KeyValueStorage(String filePath, Durability durability, long syncIntervalMillis) {
+        assert filePath != null : "filePath must not be null";
+        assert durability != null && syncIntervalMillis > 0 : "invalid durability settings";
+        this.filePath = Paths.get(filePath);
+        this.durability = durability;
+        this.syncIntervalMillis = syncIntervalMillis;
+        this.committer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "bob-kv-committer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Opens the store, creating it if needed, and loads every task in it.
+     * Corrupted entries are skipped.
+     *
+     * @return List of stored tasks.
+     * @throws IOException If the store cannot be opened.
+     */
+    @Override
+    public ArrayList<Task> load() throws IOException {
+        open();
+        ArrayList<Task> tasks = new ArrayList<>(map.size());
+        for (Map.Entry<Long, byte[]> entry : map.entrySet()) {
+            Task task = BinaryTaskCodec.decodeTask(entry.getValue());
+            if (task != null && entry.getKey() > Task.NO_ID) {
+                task.setId(entry.getKey());
+                tasks.add(task);
+            }
+        }
+        return tasks;
+    }
+
+    /**
+     * Writes an added task under its id.
+     *
+     * @param task Task that was added, with its id assigned.
+     * @return Future that completes once the change is committed, or exceptionally with an IOException.
+     */
+    @Override
+    public CompletableFuture<Void> add(Task task) {
+        return write(task);
+    }
+
+    /**
+     * Overwrites the entry of a changed task.
+     *
+     * @param task Task that was changed.
+     * @return Future that completes once the change is committed, or exceptionally with an IOException.
+     */
+    @Override
+    public CompletableFuture<Void> update(Task task) {
+        return write(task);
+    }
+
+    /**
+     * Removes the removed task's entry by its id.
+     *
+     * @param task Task that was removed.
+     * @return Future that completes once the change is committed, or exceptionally with an IOException.
+     */
+    @Override
+    public CompletableFuture<Void> delete(Task task) {
+        assert map != null : "tasks must be loaded before they are changed";
+        assert task.getId() != Task.NO_ID : "task must have an id";
+        if (isClosed) {
+            return CompletableFuture.failedFuture(new IOException("Storage is closed"));
+        }
+        map.remove(task.getId());
+        return scheduleCommit();
+    }
+
+    /**
+     * Replaces every stored task with the given tasks and waits for the commit.
+     *
+     * @param tasks Tasks to store.
+     * @throws IOException If the store cannot be opened or committed.
+     */
+    @Override
+    public void save(List<Task> tasks) throws IOException {
+        assert tasks != null : "tasks list must not be null";
+        if (isClosed) {
+            throw new IOException("Storage is closed");
+        }
+        open();
+        TaskList.assignIds(tasks);
+        map.clear();
+        for (Task task : tasks) {
+            map.put(task.getId(), BinaryTaskCodec.encodeTask(task));
+        }
+        try {
+            scheduleCommit().join();
+        } catch (CompletionException e) {
+            throw (IOException) e.getCause();
+        }
+    }
+
+    /**
+     * Commits any pending changes and closes the store.
+     */
+    @Override
+    public void close() {
+        if (isClosed) {
+            return;
+        }
+        isClosed = true;
+        committer.shutdown();
+        try {
+            committer.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (store != null) {
+            try {
+                store.close();
+            } catch (MVStoreException e) {
+                // nothing left to report the failure to
+            }
+        }
+    }
+
+    private void open() throws IOException {
+        if (store != null) {
+            return;
+        }
+        try {
+            Path parent = filePath.getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            store = new MVStore.Builder()
+                    .fileName(filePath.toString())
+                    .autoCommitDisabled()
+                    .open();
+            map = store.openMap(MAP_NAME);
+        } catch (MVStoreException e) {
+            throw new IOException("Could not open task store: " + filePath, e);
+        }
+    }
+
+    private CompletableFuture<Void> write(Task task) {
+        assert map != null : "tasks must be loaded before they are changed";
+        assert task.getId() != Task.NO_ID : "task must have an id";
+        if (isClosed) {
+            return CompletableFuture.failedFuture(new IOException("Storage is closed"));
+        }
+        map.put(task.getId(), BinaryTaskCodec.encodeTask(task));
+        return scheduleCommit();
+    }
+
+    /**
+     * Returns the future of the commit that will include every change made so far,
+     * scheduling one if none is waiting to run.
+     */
+    private synchronized CompletableFuture<Void> scheduleCommit() {
+        if (pendingCommit == null) {
+            CompletableFuture<Void> commit = new CompletableFuture<>();
+            pendingCommit = commit;
+            try {
+                committer.execute(() -> commit(commit));
+            } catch (RejectedExecutionException e) {
+                pendingCommit = null;
+                commit.completeExceptionally(new IOException("Storage is closed"));
+            }
+            return commit;
+        }
+        return pendingCommit;
+    }
+
+    /**
+     * Commits the changes made so far. Runs on the committer thread.
+     */
+    private void commit(CompletableFuture<Void> future) {
+        synchronized (this) {
+            // Changes made from here on need a commit of their own
+            pendingCommit = null;
+        }
+        try {
+            store.commit();
+            long now = System.currentTimeMillis();
+            if (durability == Durability.SYNC_EVERY_COMMIT
+                    || (durability == Durability.SYNC_INTERVAL && now - lastSyncMillis >= syncIntervalMillis)) {
+                store.sync();
+                lastSyncMillis = now;
+            }
+            future.complete(null);
+        } catch (MVStoreException e) {
+            future.completeExceptionally(new IOException("Could not commit tasks: " + e.getMessage(), e));
+        }
+    }
+}
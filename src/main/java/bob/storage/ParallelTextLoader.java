@@ -0,0 +1,189 @@
+package bob.storage;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import bob.task.Task;
+
+/**
+ * Loads a large text task file by memory-mapping it, splitting it into chunks at newline
+ * boundaries and parsing the chunks in parallel on a fork-join pool.
+ * Tasks are returned in the order they appear in the file. Like the line reader used for smaller
+ * files, it rejects bytes that are not valid UTF-8 rather than replacing them.
+ */
+class ParallelTextLoader {
+    /** Smallest chunk worth handing to a separate worker. */
+    private static final int MIN_CHUNK_BYTES = 256 * 1024;
+    /** Chunks per worker thread, so that uneven chunks still keep every core busy. */
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Creates a loader that parses on the given pool.
+     *
+     * @param pool Pool to run the parsing tasks on.
+     */
+    ParallelTextLoader(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Returns whether the given file size can be loaded through a single mapping.
+     *
+     * @param size File size in bytes.
+     * @return True if the file can be loaded by this loader.
+     */
+    static boolean canLoad(long size) {
+        return size <= Integer.MAX_VALUE;
+    }
+
+    /**
+     * Reads every task in the file, skipping corrupted lines.
+     *
+     * @param file Text task file to read.
+     * @return Tasks in file order.
+     * @throws IOException If the file cannot be mapped or is not valid UTF-8.
+     */
+    ArrayList<Task> load(Path file) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            assert canLoad(size) : "file is too large to map at once";
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+
+        int[] bounds = splitAtNewlines(buffer, pool.getParallelism() * CHUNKS_PER_THREAD);
+        List<List<Task>> results = new ArrayList<>(bounds.length - 1);
+        for (int i = 0; i + 1 < bounds.length; i++) {
+            results.add(null);
+        }
+        try {
+            pool.invoke(new ParseChunks(buffer, bounds, results, 0, results.size()));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        int total = 0;
+        for (List<Task> chunk : results) {
+            total += chunk.size();
+        }
+        ArrayList<Task> tasks = new ArrayList<>(total);
+        for (List<Task> chunk : results) {
+            tasks.addAll(chunk);
+        }
+        return tasks;
+    }
+
+    /**
+     * Returns chunk boundaries such that every chunk but the last ends just after a newline.
+     * The first boundary is 0 and the last is the buffer's limit.
+     */
+    static int[] splitAtNewlines(ByteBuffer buffer, int maxChunks) {
+        int size = buffer.limit();
+        int chunkCount = Math.max(1, Math.min(maxChunks, size / MIN_CHUNK_BYTES));
+        int[] bounds = new int[chunkCount + 1];
+        int count = 1;
+        for (int i = 1; i < chunkCount; i++) {
+            int candidate = Math.max((int) ((long) size * i / chunkCount), bounds[count - 1]);
+            while (candidate < size && buffer.get(candidate) != '\n') {
+                candidate++;
+            }
+            if (candidate + 1 >= size) {
+                break;
+            }
+            bounds[count++] = candidate + 1;
+        }
+        bounds[count++] = size;
+        int[] trimmed = new int[count];
+        System.arraycopy(bounds, 0, trimmed, 0, count);
+        return trimmed;
+    }
+
+    /**
+     * Parses the lines of one chunk, treating {@code \n}, {@code \r\n} and {@code \r} as line
+     * terminators like {@link java.io.BufferedReader#readLine()}.
+     *
+     * @throws CharacterCodingException If a line is not valid UTF-8.
+     */
+    static List<Task> parseChunk(ByteBuffer buffer, int start, int end) throws CharacterCodingException {
+        CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT);
+        List<Task> tasks = new ArrayList<>();
+        int lineStart = start;
+        int i = start;
+        while (i < end) {
+            byte b = buffer.get(i);
+            if (b != '\n' && b != '\r') {
+                i++;
+                continue;
+            }
+            addTask(buffer, lineStart, i, decoder, tasks);
+            i += (b == '\r' && i + 1 < end && buffer.get(i + 1) == '\n') ? 2 : 1;
+            lineStart = i;
+        }
+        if (lineStart < end) {
+            addTask(buffer, lineStart, end, decoder, tasks);
+        }
+        return tasks;
+    }
+
+    private static void addTask(ByteBuffer buffer, int start, int end, CharsetDecoder decoder, List<Task> tasks)
+            throws CharacterCodingException {
+        String line = decoder.decode(buffer.slice(start, end - start)).toString();
+        Task task = TextTaskCodec.parseTaskLine(line);
+        if (task != null) {
+            tasks.add(task);
+        }
+    }
+
+    /**
+     * Parses a range of chunks, splitting the range in half until a single chunk remains.
+     * Decoding errors are rethrown unchecked, to be unwrapped by {@link #load}.
+     */
+    @SuppressWarnings("serial") // never serialized
+    private static class ParseChunks extends RecursiveAction {
+        private final ByteBuffer buffer;
+        private final int[] bounds;
+        private final List<List<Task>> results;
+        private final int from;
+        private final int to;
+
+        ParseChunks(ByteBuffer buffer, int[] bounds, List<List<Task>> results, int from, int to) {
+            this.buffer = buffer;
+            this.bounds = bounds;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                try {
+                    results.set(from, parseChunk(buffer, bounds[from], bounds[from + 1]));
+                } catch (CharacterCodingException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new ParseChunks(buffer, bounds, results, from, mid),
+                    new ParseChunks(buffer, bounds, results, mid, to));
+        }
+    }
+}
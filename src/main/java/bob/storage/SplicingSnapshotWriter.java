@@ -0,0 +1,142 @@
+package bob.storage;
+
+import java.io.BufferedOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.function.Function;
+
+import bob.task.Task;
+
+/**
+ * Writes snapshot files, copying the bytes of tasks that did not change since the previous snapshot
+ * straight out of that file and encoding only tasks that are new or have changed.
+ *
+ * <p>Only each task's version and the location of its bytes in the previous snapshot are remembered,
+ * not the bytes themselves. The previous snapshot is recognised by its size, modification time and
+ * file key, which survive the rename that puts a snapshot in place; if anything else has replaced or
+ * changed it, every task is encoded again.
+ */
+class SplicingSnapshotWriter {
+    private static final int COPY_BUFFER_SIZE = 1 << 16;
+
+    private final Function<Task, byte[]> encoder;
+    private IdentityHashMap<Task, Location> locations = new IdentityHashMap<>();
+    /** Attributes of the file written last, or null if nothing was written yet. */
+    private FileStamp lastWritten;
+
+    /**
+     * Creates a writer that encodes tasks with the given function.
+     *
+     * @param encoder Encodes one task into the bytes written for it.
+     */
+    SplicingSnapshotWriter(Function<Task, byte[]> encoder) {
+        this.encoder = encoder;
+    }
+
+    /**
+     * Writes the header followed by the encoded bytes of every task in order, replacing the file's
+     * contents. Tasks unchanged since the previous snapshot are copied from it in contiguous runs.
+     *
+     * @param file File to write; must not be the previous snapshot.
+     * @param header Bytes written before the tasks.
+     * @param tasks Tasks to write.
+     * @param previous Where the snapshot written last by this writer is now, or null if unknown.
+     * @throws IOException If there is an error reading the previous snapshot or writing the file.
+     */
+    synchronized void write(Path file, byte[] header, List<Task> tasks, Path previous) throws IOException {
+        assert previous == null || !file.equals(previous) : "cannot copy from the file being written";
+        IdentityHashMap<Task, Location> next = new IdentityHashMap<>(tasks.size());
+        FileChannel source = openIfUnchanged(previous);
+        try (source; OutputStream out = new BufferedOutputStream(Files.newOutputStream(file))) {
+            ByteBuffer copyBuffer = ByteBuffer.allocate(COPY_BUFFER_SIZE);
+            out.write(header);
+            long position = header.length;
+            // Bytes of the previous snapshot still to be copied: [runStart, runEnd)
+            long runStart = 0;
+            long runEnd = 0;
+            for (Task task : tasks) {
+                // Read the version before encoding, so a concurrent change can only cause a re-encode later
+                int version = task.getVersion();
+                Location old = (source != null) ? locations.get(task) : null;
+                int length;
+                if (old != null && old.version == version) {
+                    if (old.offset != runEnd) {
+                        copy(source, runStart, runEnd, out, copyBuffer);
+                        runStart = old.offset;
+                        runEnd = old.offset;
+                    }
+                    runEnd += old.length;
+                    length = old.length;
+                } else {
+                    copy(source, runStart, runEnd, out, copyBuffer);
+                    runStart = runEnd;
+                    byte[] bytes = encoder.apply(task);
+                    out.write(bytes);
+                    length = bytes.length;
+                }
+                next.put(task, new Location(version, position, length));
+                position += length;
+            }
+            copy(source, runStart, runEnd, out, copyBuffer);
+        }
+        locations = next;
+        lastWritten = FileStamp.of(file);
+    }
+
+    private FileChannel openIfUnchanged(Path previous) throws IOException {
+        if (previous == null || lastWritten == null || !Files.exists(previous)
+                || !lastWritten.equals(FileStamp.of(previous))) {
+            return null;
+        }
+        return FileChannel.open(previous, StandardOpenOption.READ);
+    }
+
+    private static void copy(FileChannel source, long from, long to, OutputStream out, ByteBuffer buffer)
+            throws IOException {
+        long position = from;
+        while (position < to) {
+            buffer.clear().limit((int) Math.min(buffer.capacity(), to - position));
+            int read = source.read(buffer, position);
+            if (read < 0) {
+                throw new EOFException("The previous snapshot ended early");
+            }
+            out.write(buffer.array(), 0, read);
+            position += read;
+        }
+    }
+
+    /**
+     * Where the bytes of a task at a given version are in the snapshot written last.
+     */
+    private static class Location {
+        private final int version;
+        private final long offset;
+        private final int length;
+
+        Location(int version, long offset, int length) {
+            this.version = version;
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+
+    /**
+     * Attributes that tell whether a file is still the one that was written.
+     */
+    private record FileStamp(long size, FileTime lastModified, Object fileKey) {
+        static FileStamp of(Path file) throws IOException {
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            return new FileStamp(attributes.size(), attributes.lastModifiedTime(), attributes.fileKey());
+        }
+    }
+}
@@ -1,160 +1,276 @@
 package bob.storage;
 
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.time.LocalDateTime;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import bob.task.Task;
-import bob.tasktype.Deadline;
-import bob.tasktype.Event;
-import bob.tasktype.Todo;
-import bob.util.DateTimeUtil;
+import bob.task.TaskList;
 
 /**
  * Handles loading tasks from file and saving tasks to file.
+ * Individual mutations are appended to a journal next to the task file and replayed on load,
+ * so that a single change does not require rewriting every task. Journal records refer to tasks by id.
+ * Once the journal grows past a threshold it is folded into a fresh snapshot in the background.
+ * Journal writes happen on a background writer thread; callers receive a future that reports
+ * whether the write succeeded.
+ * Snapshots are written in the configured {@link StorageFormat}; the format of an existing file is
+ * detected on load, and a text file is migrated to the binary format when that format is chosen.
  */
-public class Storage {
-    /** Minimum parts for any task (type, isDone, description). */
-    private static final int MIN_PARTS_ANY = 3;
-    /** Minimum parts for deadline (adds by time). */
-    private static final int MIN_PARTS_DEADLINE = 4;
-    /** Minimum parts for event (adds from and to times). */
-    private static final int MIN_PARTS_EVENT = 5;
+public class Storage implements StorageBackend {
+    /** Suffix appended to the task file path to name its journal. */
+    private static final String JOURNAL_SUFFIX = ".journal";
+    /** Default number of journal records that triggers a compaction. */
+    private static final int DEFAULT_MAX_JOURNAL_RECORDS = 1000;
+    /** Default journal size in bytes that triggers a compaction. */
+    private static final long DEFAULT_MAX_JOURNAL_BYTES = 1024 * 1024;
+    /** Default maximum time between syncs for {@link Durability#SYNC_INTERVAL}. */
+    static final long DEFAULT_SYNC_INTERVAL_MILLIS = 1000;
 
     private final Path filePath;
+    private final StorageFormat format;
+    private volatile TaskCodec codec;
+    private final Journal journal;
+    private final JournalCompactor compactor;
+    private int maxJournalRecords = DEFAULT_MAX_JOURNAL_RECORDS;
+    private long maxJournalBytes = DEFAULT_MAX_JOURNAL_BYTES;
+    private boolean hasRotatedJournals;
 
     /**
      * Creates a new Storage instance with the given file path.
+     * Journal writes are left to the operating system's page cache.
      *
      * @param filePath Path to the file for storing tasks.
      */
     public Storage(String filePath) {
+        this(filePath, Durability.OS_BUFFERED, DEFAULT_SYNC_INTERVAL_MILLIS);
+    }
+
+    /**
+     * Creates a new Storage instance with the given file path and journal durability.
+     *
+     * @param filePath Path to the file for storing tasks.
+     * @param durability When journal writes are forced to the device.
+     * @param syncIntervalMillis Maximum time between syncs for {@link Durability#SYNC_INTERVAL}.
+     */
+    public Storage(String filePath, Durability durability, long syncIntervalMillis) {
+        this(filePath, StorageFormat.TEXT, durability, syncIntervalMillis);
+    }
+
+    /**
+     * Creates a new Storage instance with the given file path, snapshot format and journal durability.
+     *
+     * @param filePath Path to the file for storing tasks.
+     * @param format Format in which snapshots are written.
+     * @param durability When journal writes are forced to the device.
+     * @param syncIntervalMillis Maximum time between syncs for {@link Durability#SYNC_INTERVAL}.
+     */
+    public Storage(String filePath, StorageFormat format, Durability durability, long syncIntervalMillis) {
+        assert format != null : "format must not be null";
         this.filePath = Paths.get(filePath);
+        this.format = format;
+        this.codec = codecFor(format);
+        Path journalPath = Paths.get(filePath + JOURNAL_SUFFIX);
+        this.journal = new Journal(journalPath, durability, syncIntervalMillis);
+        this.compactor = new JournalCompactor(this.filePath, journalPath, this);
     }
 
     /**
-     * Loads tasks from the file.
+     * Sets the journal size limits past which {@link #compactIfNeeded(List)} folds the journal
+     * into a new snapshot.
+     *
+     * @param maxRecords Maximum number of journal records.
+     * @param maxBytes Maximum journal size in bytes.
+     */
+    public void setCompactionThresholds(int maxRecords, long maxBytes) {
+        assert maxRecords > 0 && maxBytes > 0 : "thresholds must be positive";
+        this.maxJournalRecords = maxRecords;
+        this.maxJournalBytes = maxBytes;
+    }
+
+    /**
+     * Loads tasks from the file and replays any journaled mutations on top of them.
+     * The file is rewritten if it is a text file and the binary format is configured, or if it was
+     * written before tasks had ids.
      *
      * @return List of tasks loaded from file. Returns an empty list if the file does not exist.
      * @throws IOException If there is an error reading from the file.
      */
+    @Override
     public ArrayList<Task> load() throws IOException {
         ArrayList<Task> tasks = new ArrayList<>();
+        compactor.awaitIdle();
+        compactor.recover();
 
-        if (!Files.exists(filePath)) {
-            return tasks;
+        boolean needsMigration = false;
+        if (Files.exists(filePath)) {
+            boolean isBinary = BinaryTaskCodec.isBinary(filePath);
+            TaskCodec fileCodec = codecFor(isBinary ? StorageFormat.BINARY : StorageFormat.TEXT);
+            tasks = fileCodec.read(filePath);
+            // Migration is one-way: a binary file is never rewritten as text
+            needsMigration = !isBinary && format == StorageFormat.BINARY;
+            codec = isBinary ? fileCodec : codec;
         }
 
-        try (BufferedReader reader = Files.newBufferedReader(filePath)) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                Task task = parseTaskLine(line);
-                if (task != null) {
-                    tasks.add(task);
-                }
+        JournalReplayer replayer = new JournalReplayer(tasks);
+        List<Path> rotatedJournals = compactor.rotatedJournals();
+        for (Path rotated : rotatedJournals) {
+            for (String record : Journal.readRecords(rotated)) {
+                replayer.replay(record);
             }
         }
+        hasRotatedJournals = !rotatedJournals.isEmpty();
+        for (String record : journal.readRecords()) {
+            replayer.replay(record);
+        }
+        tasks = replayer.finish();
+        needsMigration |= TaskList.assignIds(tasks);
 
+        if (needsMigration) {
+            save(tasks);
+        }
         return tasks;
     }
 
     /**
-     * Saves the given list of tasks to the file.
+     * Saves the given list of tasks to the file as a full snapshot and clears the journal.
      *
      * @param tasks List of tasks to save.
      * @throws IOException If there is an error writing to the file.
      */
-    public void save(ArrayList<Task> tasks) throws IOException {
+    @Override
+    public void save(List<Task> tasks) throws IOException {
         assert tasks != null : "tasks list must not be null";
-        Path directory = filePath.getParent();
-        if (directory != null) {
-            Files.createDirectories(directory);
-        }
+        compactor.awaitIdle();
+        // Written aside and renamed into place, so the old snapshot can be copied from while writing
+        Path temp = compactor.tempSnapshotPath();
+        writeSnapshot(temp, tasks);
+        Files.move(temp, filePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        journal.clear();
+        compactor.deleteRotatedJournals();
+        hasRotatedJournals = false;
+    }
 
-        try (BufferedWriter writer = Files.newBufferedWriter(filePath)) {
-            for (Task task : tasks) {
-                writer.write(formatTaskLine(task));
-                writer.newLine();
-            }
-        }
+    /**
+     * Journals an added task.
+     *
+     * @param task Task that was added, with its id assigned.
+     * @return Future that completes once the record is written, or exceptionally with an IOException.
+     */
+    @Override
+    public CompletableFuture<Void> add(Task task) {
+        return appendAdd(task);
     }
 
     /**
-     * Returns the storage format line for a given task.
+     * Journals the new status of a task.
      *
-     * @param task Task to format.
-     * @return Storage line representing the task.
+     * @param task Task whose status was changed.
+     * @return Future that completes once the record is written, or exceptionally with an IOException.
      */
-    private String formatTaskLine(Task task) {
-        assert task != null : "task must not be null";
-        String isDone = (task.getStatus() == Task.Status.DONE) ? "1" : "0";
+    @Override
+    public CompletableFuture<Void> update(Task task) {
+        return appendStatus(task);
+    }
 
-        if (task instanceof Todo) {
-            return "T | " + isDone + " | " + task.getDescription();
-        }
+    /**
+     * Journals a removed task.
+     *
+     * @param task Task that was removed.
+     * @return Future that completes once the record is written, or exceptionally with an IOException.
+     */
+    @Override
+    public CompletableFuture<Void> delete(Task task) {
+        return appendDelete(task);
+    }
 
-        if (task instanceof Deadline) {
-            Deadline deadline = (Deadline) task;
-            String by = deadline.getBy().format(DateTimeUtil.STORAGE_DATE_TIME);
-            return "D | " + isDone + " | " + deadline.getDescription() + " | " + by;
+    /**
+     * Starts a background compaction if the journal has grown past its thresholds.
+     * Returns immediately; only the journal rotation and a shallow copy of the list happen on the
+     * caller's thread.
+     *
+     * @param tasks Current tasks, which must reflect every journaled mutation.
+     * @return True if a compaction was started.
+     */
+    @Override
+    public boolean compactIfNeeded(List<Task> tasks) {
+        assert tasks != null : "tasks list must not be null";
+        boolean isOverThreshold = journal.getRecordCount() >= maxJournalRecords
+                || journal.getByteCount() >= maxJournalBytes;
+        if (compactor.isRunning() || !(isOverThreshold || hasRotatedJournals)) {
+            return false;
         }
+        compactor.start(journal, tasks);
+        hasRotatedJournals = false;
+        return true;
+    }
 
-        if (task instanceof Event) {
-            Event event = (Event) task;
-            return "E | " + isDone + " | " + event.getDescription()
-                    + " | " + event.getFrom().format(DateTimeUtil.STORAGE_DATE_TIME)
-                    + " | " + event.getTo().format(DateTimeUtil.STORAGE_DATE_TIME);
+    /**
+     * Writes every queued journal record, waits for any background compaction to finish
+     * and releases the background threads.
+     */
+    @Override
+    public void close() {
+        journal.close();
+        compactor.close();
+    }
+
+    /**
+     * Writes every task to the given file, replacing its contents. Tasks unchanged since the last
+     * snapshot are copied from the current snapshot file.
+     *
+     * @param path File to write.
+     * @param tasks Tasks to write.
+     * @throws IOException If there is an error writing to the file.
+     */
+    void writeSnapshot(Path path, List<Task> tasks) throws IOException {
+        Path directory = path.getParent();
+        if (directory != null) {
+            Files.createDirectories(directory);
         }
-        return "";
+        codec.write(path, tasks, filePath);
+    }
+
+    private static TaskCodec codecFor(StorageFormat format) {
+        return (format == StorageFormat.BINARY) ? new BinaryTaskCodec() : new TextTaskCodec();
     }
 
     /**
-     * Parses a storage format line into a Task instance.
+     * Records that a task was added to the end of the list.
      *
-     * @param line Storage line.
-     * @return Parsed task, or null if the line is invalid/corrupted.
+     * @param task Task that was added, with its id assigned.
+     * @return Future that completes once the record is written, or exceptionally with an IOException.
      */
-    private Task parseTaskLine(String line) {
-        assert line != null : "line must not be null";
-        try {
-            String[] parts = line.split("\\s*\\|\\s*");
-            if (parts.length < MIN_PARTS_ANY) {
-                return null;
-            }
+    public CompletableFuture<Void> appendAdd(Task task) {
+        assert task != null && task.getId() != Task.NO_ID : "task must have an id";
+        return journal.append(Journal.ADD + TextTaskCodec.formatTaskLine(task));
+    }
 
-            String type = parts[0];
-            String isDone = parts[1];
-            String description = parts[2];
-
-            Task task;
-            if ("T".equals(type)) {
-                task = new Todo(description);
-            } else if ("D".equals(type)) {
-                if (parts.length < MIN_PARTS_DEADLINE) {
-                    return null;
-                }
-                LocalDateTime by = LocalDateTime.parse(parts[3], DateTimeUtil.STORAGE_DATE_TIME);
-                task = new Deadline(description, by);
-            } else if ("E".equals(type)) {
-                if (parts.length < MIN_PARTS_EVENT) {
-                    return null;
-                }
-                LocalDateTime from = LocalDateTime.parse(parts[3], DateTimeUtil.STORAGE_DATE_TIME);
-                LocalDateTime to = LocalDateTime.parse(parts[4], DateTimeUtil.STORAGE_DATE_TIME);
-                task = new Event(description, from, to);
-            } else {
-                return null;
-            }
+    /**
+     * Records the current status of a task.
+     *
+     * @param task Task whose status was changed.
+     * @return Future that completes once the record is written, or exceptionally with an IOException.
+     */
+    public CompletableFuture<Void> appendStatus(Task task) {
+        assert task != null && task.getId() != Task.NO_ID : "task must have an id";
+        String prefix = (task.getStatus() == Task.Status.DONE) ? Journal.DONE : Journal.NOT_DONE;
+        return journal.append(prefix + task.getId());
+    }
 
-            task.setStatus("1".equals(isDone) ? Task.Status.DONE : Task.Status.NOT_DONE);
-            return task;
-        } catch (Exception e) {
-            return null; // corrupted line -> skip
-        }
+    /**
+     * Records that a task was removed.
+     *
+     * @param task Task that was removed.
+     * @return Future that completes once the record is written, or exceptionally with an IOException.
+     */
+    public CompletableFuture<Void> appendDelete(Task task) {
+        assert task != null && task.getId() != Task.NO_ID : "task must have an id";
+        return journal.append(Journal.REMOVE + task.getId());
     }
 }
@@ -0,0 +1,70 @@
+package bob.storage;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import bob.task.Task;
+
+/**
+ * Persists the task list. Implementations receive one call per changed task, so that a backend
+ * with point updates does not have to rewrite every task on each change.
+ */
+public interface StorageBackend {
+    /**
+     * Loads every stored task.
+     *
+     * @return Stored tasks in list order. Returns an empty list if nothing has been stored yet.
+     * @throws IOException If the tasks cannot be read.
+     */
+    ArrayList<Task> load() throws IOException;
+
+    /**
+     * Stores a task that was appended to the end of the list.
+     *
+     * @param task Task that was added, with its id assigned.
+     * @return Future that completes once the task is stored, or exceptionally with an IOException.
+     */
+    CompletableFuture<Void> add(Task task);
+
+    /**
+     * Replaces the stored state of a task that is already stored, e.g. after its status changed.
+     *
+     * @param task Task that was changed.
+     * @return Future that completes once the task is stored, or exceptionally with an IOException.
+     */
+    CompletableFuture<Void> update(Task task);
+
+    /**
+     * Removes a stored task; the tasks after it keep their relative order.
+     *
+     * @param task Task that was removed.
+     * @return Future that completes once the task is removed, or exceptionally with an IOException.
+     */
+    CompletableFuture<Void> delete(Task task);
+
+    /**
+     * Replaces everything stored with the given tasks.
+     *
+     * @param tasks Tasks to store.
+     * @throws IOException If the tasks cannot be written.
+     */
+    void save(List<Task> tasks) throws IOException;
+
+    /**
+     * Gives the backend a chance to reorganise its files after a change, e.g. by compacting a log.
+     * Must not block the caller on I/O. Does nothing by default.
+     *
+     * @param tasks Current tasks, which reflect every change passed to the backend.
+     * @return True if maintenance was started.
+     */
+    default boolean compactIfNeeded(List<Task> tasks) {
+        return false;
+    }
+
+    /**
+     * Writes every pending change and releases the backend's files and threads.
+     */
+    void close();
+}
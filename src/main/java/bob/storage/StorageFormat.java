@@ -0,0 +1,11 @@
+package bob.storage;
+
+/**
+ * On-disk format of the task snapshot file.
+ */
+public enum StorageFormat {
+    /** Human-readable lines such as {@code D | 0 | return book | 2019-12-02 1800}. */
+    TEXT,
+    /** Compact binary records behind a versioned header; see {@link BinaryTaskCodec}. */
+    BINARY
+}
@@ -0,0 +1,33 @@
+package bob.storage;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import bob.task.Task;
+
+/**
+ * Converts a list of tasks to and from the contents of a snapshot file.
+ */
+interface TaskCodec {
+    /**
+     * Reads every task in the given file, skipping corrupted entries.
+     *
+     * @param file File to read.
+     * @return Tasks in the order they were written.
+     * @throws IOException If there is an error reading the file.
+     */
+    ArrayList<Task> read(Path file) throws IOException;
+
+    /**
+     * Writes the given tasks to the file, replacing its contents.
+     *
+     * @param file File to write.
+     * @param tasks Tasks to write.
+     * @param previous Where the snapshot this codec wrote last is now, so that tasks unchanged since
+     *     then can be copied from it; null if unknown. Must not be {@code file}.
+     * @throws IOException If there is an error writing the file.
+     */
+    void write(Path file, List<Task> tasks, Path previous) throws IOException;
+}
@@ -0,0 +1,259 @@
+package bob.storage;
+
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.Year;
+
+import bob.task.Task;
+import bob.tasktype.Deadline;
+import bob.tasktype.Event;
+import bob.tasktype.Todo;
+
+/**
+ * Single-pass scanner for text storage lines such as {@code 7 | D | 0 | return book | 2019-12-02 1800}.
+ * The leading task id field is optional, since files written before tasks had ids do not have it.
+ *
+ * <p>It accepts exactly the lines that splitting on {@code \s*\|\s*} and parsing timestamps with
+ * {@link bob.util.DateTimeUtil#STORAGE_DATE_TIME} accepts, but reads fields and timestamps in place
+ * instead of allocating a regex, a {@code String[]} and substrings per line, and reports a corrupted
+ * line by returning null rather than by throwing.
+ */
+final class TaskLineParser {
+    private static final int HOURS_PER_DAY = 24;
+    private static final int MINUTES_PER_HOUR = 60;
+    private static final int MONTHS_PER_YEAR = 12;
+    private static final int MAX_DAY_OF_MONTH = 31;
+    private static final int YEAR_DIGITS = 4;
+    /** Most digits of a signed year that still fits in a LocalDate. */
+    private static final int MAX_SIGNED_YEAR_DIGITS = 9;
+    /** Most digits of a task id that always fits in a long. */
+    private static final int MAX_ID_DIGITS = 18;
+
+    private TaskLineParser() {
+    }
+
+    /**
+     * Parses a storage line into a Task instance.
+     *
+     * @param line Storage line.
+     * @return Parsed task, or null if the line is invalid/corrupted.
+     */
+    static Task parse(CharSequence line) {
+        assert line != null : "line must not be null";
+        int typeStart = 0;
+        int typeEnd = fieldEnd(line, 0);
+        long id = Task.NO_ID;
+        if (typeEnd > 0 && countDigits(line, 0, typeEnd) == typeEnd) {
+            if (typeEnd > MAX_ID_DIGITS) {
+                return null;
+            }
+            id = readLong(line, 0, typeEnd);
+            typeStart = nextFieldStart(line, typeEnd);
+            if (id == Task.NO_ID || typeStart < 0) {
+                return null;
+            }
+            typeEnd = fieldEnd(line, typeStart);
+        }
+        int doneStart = nextFieldStart(line, typeEnd);
+        if (typeEnd - typeStart != 1 || doneStart < 0) {
+            return null;
+        }
+        int doneEnd = fieldEnd(line, doneStart);
+        int descStart = nextFieldStart(line, doneEnd);
+        if (descStart < 0) {
+            return null;
+        }
+        int descEnd = fieldEnd(line, descStart);
+
+        Task task;
+        switch (line.charAt(typeStart)) {
+        case 'T':
+            // An empty description only counts as a field if a non-empty field follows it
+            if (descEnd == descStart && !hasContentAfter(line, descEnd)) {
+                return null;
+            }
+            task = new Todo(line.subSequence(descStart, descEnd).toString());
+            break;
+        case 'D': {
+            int byStart = nextFieldStart(line, descEnd);
+            if (byStart < 0) {
+                return null;
+            }
+            LocalDateTime by = parseDateTime(line, byStart, fieldEnd(line, byStart));
+            if (by == null) {
+                return null;
+            }
+            task = new Deadline(line.subSequence(descStart, descEnd).toString(), by);
+            break;
+        }
+        case 'E': {
+            int fromStart = nextFieldStart(line, descEnd);
+            if (fromStart < 0) {
+                return null;
+            }
+            int fromEnd = fieldEnd(line, fromStart);
+            int toStart = nextFieldStart(line, fromEnd);
+            if (toStart < 0) {
+                return null;
+            }
+            LocalDateTime from = parseDateTime(line, fromStart, fromEnd);
+            LocalDateTime to = parseDateTime(line, toStart, fieldEnd(line, toStart));
+            if (from == null || to == null) {
+                return null;
+            }
+            task = new Event(line.subSequence(descStart, descEnd).toString(), from, to);
+            break;
+        }
+        default:
+            return null;
+        }
+
+        boolean isDone = doneEnd - doneStart == 1 && line.charAt(doneStart) == '1';
+        task.setStatus(isDone ? Task.Status.DONE : Task.Status.NOT_DONE);
+        if (id != Task.NO_ID) {
+            task.setId(id);
+        }
+        return task;
+    }
+
+    /**
+     * Parses a timestamp in the {@code yyyy-MM-dd HHmm} storage format, resolving it the same way
+     * as a {@link java.time.format.ResolverStyle#SMART} formatter does.
+     *
+     * @return Parsed date and time, or null if the text is not a valid timestamp.
+     */
+    static LocalDateTime parseDateTime(CharSequence text, int start, int end) {
+        int i = start;
+        int yearDigits;
+        if (i < end && text.charAt(i) == '+') {
+            i++;
+            yearDigits = countDigits(text, i, end);
+            if (yearDigits <= YEAR_DIGITS || yearDigits > MAX_SIGNED_YEAR_DIGITS) {
+                return null;
+            }
+        } else {
+            yearDigits = YEAR_DIGITS;
+            if (countDigits(text, i, end) != YEAR_DIGITS) {
+                return null;
+            }
+        }
+        // Remaining layout after the year: "-MM-dd HHmm"
+        if (end - (i + yearDigits) != "-MM-dd HHmm".length()) {
+            return null;
+        }
+        int year = readNumber(text, i, yearDigits);
+        i += yearDigits;
+        if (text.charAt(i) != '-' || text.charAt(i + 3) != '-' || text.charAt(i + 6) != ' ') {
+            return null;
+        }
+        int month = readNumber(text, i + 1, 2);
+        int day = readNumber(text, i + 4, 2);
+        int hour = readNumber(text, i + 7, 2);
+        int minute = readNumber(text, i + 9, 2);
+        if (year < 1 || month < 1 || month > MONTHS_PER_YEAR || day < 1 || day > MAX_DAY_OF_MONTH
+                || hour < 0 || hour > HOURS_PER_DAY || minute < 0 || minute >= MINUTES_PER_HOUR) {
+            return null;
+        }
+
+        // SMART resolution clamps the day to the month's length and reads 24:00 as the next midnight
+        day = Math.min(day, Month.of(month).length(Year.isLeap(year)));
+        if (hour == HOURS_PER_DAY) {
+            if (minute != 0 || (year == Year.MAX_VALUE && month == MONTHS_PER_YEAR && day == MAX_DAY_OF_MONTH)) {
+                return null;
+            }
+            return LocalDateTime.of(year, month, day, 0, 0).plusDays(1);
+        }
+        return LocalDateTime.of(year, month, day, hour, minute);
+    }
+
+    /**
+     * Returns the end of the field starting at {@code from}: the start of the whitespace before the
+     * next {@code '|'}, or the end of the line if there is no further separator.
+     */
+    private static int fieldEnd(CharSequence line, int from) {
+        int whitespaceStart = -1;
+        for (int i = from; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '|') {
+                return (whitespaceStart >= 0) ? whitespaceStart : i;
+            }
+            if (isWhitespace(c)) {
+                whitespaceStart = (whitespaceStart >= 0) ? whitespaceStart : i;
+            } else {
+                whitespaceStart = -1;
+            }
+        }
+        return line.length();
+    }
+
+    /**
+     * Returns the start of the field after the separator at {@code fieldEnd}, or -1 if the field
+     * at {@code fieldEnd} was the last one.
+     */
+    private static int nextFieldStart(CharSequence line, int fieldEnd) {
+        int i = fieldEnd;
+        while (i < line.length() && isWhitespace(line.charAt(i))) {
+            i++;
+        }
+        if (i >= line.length() || line.charAt(i) != '|') {
+            return -1;
+        }
+        i++;
+        while (i < line.length() && isWhitespace(line.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Returns whether any later field is non-empty, i.e. whether the rest of the line contains
+     * anything other than separators and the whitespace around them.
+     */
+    private static boolean hasContentAfter(CharSequence line, int from) {
+        for (int i = from; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c != '|' && !isWhitespace(c)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Matches the regex class {@code \s}: {@code [ \t\n\x0B\f\r]}. */
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    private static int countDigits(CharSequence text, int from, int end) {
+        int i = from;
+        while (i < end && isDigit(text.charAt(i))) {
+            i++;
+        }
+        return i - from;
+    }
+
+    /** Reads {@code digits} ASCII digits, returning -1 if any of them is not a digit. */
+    private static int readNumber(CharSequence text, int from, int digits) {
+        int value = 0;
+        for (int i = from; i < from + digits; i++) {
+            char c = text.charAt(i);
+            if (!isDigit(c)) {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static long readLong(CharSequence text, int from, int end) {
+        long value = 0;
+        for (int i = from; i < end; i++) {
+            value = value * 10 + (text.charAt(i) - '0');
+        }
+        return value;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
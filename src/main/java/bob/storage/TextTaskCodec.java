@@ -0,0 +1,97 @@
+package bob.storage;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import bob.task.Task;
+import bob.tasktype.Deadline;
+import bob.tasktype.Event;
+import bob.tasktype.Todo;
+import bob.util.DateTimeUtil;
+
+/**
+ * Reads and writes the human-readable task format, one task per line,
+ * e.g. {@code 7 | D | 0 | return book | 2019-12-02 1800}, where the first field is the task's id.
+ * Journal records embed the same lines.
+ * A snapshot only formats tasks that changed since the last one and copies the other lines from it.
+ */
+class TextTaskCodec implements TaskCodec {
+    /** File size from which parsing is spread across cores by {@link ParallelTextLoader}. */
+    private static final long PARALLEL_LOAD_THRESHOLD_BYTES = 4 * 1024 * 1024;
+
+    private static final byte[] NO_HEADER = new byte[0];
+
+    private final SplicingSnapshotWriter writer = new SplicingSnapshotWriter(task ->
+            (formatTaskLine(task) + System.lineSeparator()).getBytes(StandardCharsets.UTF_8));
+
+    @Override
+    public ArrayList<Task> read(Path file) throws IOException {
+        long size = Files.size(file);
+        if (size >= PARALLEL_LOAD_THRESHOLD_BYTES && ParallelTextLoader.canLoad(size)) {
+            return new ParallelTextLoader(ForkJoinPool.commonPool()).load(file);
+        }
+
+        ArrayList<Task> tasks = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                Task task = parseTaskLine(line);
+                if (task != null) {
+                    tasks.add(task);
+                }
+            }
+        }
+        return tasks;
+    }
+
+    @Override
+    public void write(Path file, List<Task> tasks, Path previous) throws IOException {
+        writer.write(file, NO_HEADER, tasks, previous);
+    }
+
+    /**
+     * Returns the storage format line for a given task.
+     *
+     * @param task Task to format.
+     * @return Storage line representing the task.
+     */
+    static String formatTaskLine(Task task) {
+        assert task != null : "task must not be null";
+        String isDone = (task.getStatus() == Task.Status.DONE) ? "1" : "0";
+        String id = (task.getId() != Task.NO_ID) ? task.getId() + " | " : "";
+
+        if (task instanceof Todo) {
+            return id + "T | " + isDone + " | " + task.getDescription();
+        }
+
+        if (task instanceof Deadline) {
+            Deadline deadline = (Deadline) task;
+            String by = deadline.getBy().format(DateTimeUtil.STORAGE_DATE_TIME);
+            return id + "D | " + isDone + " | " + deadline.getDescription() + " | " + by;
+        }
+
+        if (task instanceof Event) {
+            Event event = (Event) task;
+            return id + "E | " + isDone + " | " + event.getDescription()
+                    + " | " + event.getFrom().format(DateTimeUtil.STORAGE_DATE_TIME)
+                    + " | " + event.getTo().format(DateTimeUtil.STORAGE_DATE_TIME);
+        }
+        return "";
+    }
+
+    /**
+     * Parses a storage format line into a Task instance.
+     *
+     * @param line Storage line.
+     * @return Parsed task, or null if the line is invalid/corrupted.
+     */
+    static Task parseTaskLine(String line) {
+        return TaskLineParser.parse(line);
+    }
+}
@@ -0,0 +1,218 @@
+package bob.task;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Operations on a list of tasks, independent of how the tasks are kept.
+ *
+ * <p>{@link TaskList} keeps task objects and indexes them; {@link ColumnarTaskList} keeps the tasks in
+ * columns and scans them. Positions are 0-based, and every task has an id that increases along the list.
+ */
+public abstract class AbstractTaskList {
+    /** Default length of the window in which a pending deadline counts as urgent. */
+    public static final Duration DEFAULT_URGENT_WINDOW = Duration.ofDays(3);
+
+    /**
+     * Gives an id to every task that has none or whose id is not greater than the previous task's,
+     * so that ids are unique and increase along the list.
+     *
+     * @param tasks Tasks in list order.
+     * @return True if any task was given a new id.
+     */
+    public static boolean assignIds(List<Task> tasks) {
+        assert tasks != null : "tasks list must not be null";
+        boolean isChanged = false;
+        long lastId = Task.NO_ID;
+        for (Task task : tasks) {
+            if (task.getId() <= lastId) {
+                task.setId(lastId + 1);
+                isChanged = true;
+            }
+            lastId = task.getId();
+        }
+        return isChanged;
+    }
+
+    /**
+     * Adds a task to the end of the list, giving it the next id if it has none.
+     *
+     * @param task Task to add.
+     */
+    public abstract void add(Task task);
+
+    /**
+     * Adds multiple tasks to the list.
+     *
+     * @param tasks Tasks to add.
+     */
+    public void add(Task... tasks) {
+        assert tasks != null : "tasks array must not be null";
+        for (Task t : tasks) {
+            add(t);
+        }
+    }
+
+    /**
+     * Removes and returns the task at the specified index.
+     *
+     * @param index Index of the task to remove.
+     * @return The removed task.
+     */
+    public abstract Task remove(int index);
+
+    /**
+     * Returns the task at the specified index.
+     *
+     * @param index Index of the task to retrieve.
+     * @return The task at the specified index.
+     */
+    public abstract Task get(int index);
+
+    /**
+     * Sets the completion status of the task at the specified index.
+     * Status changes must go through this method so that the urgent deadlines stay up to date.
+     *
+     * @param index Index of the task to update.
+     * @param status New status to set.
+     * @return The updated task.
+     */
+    public abstract Task setStatus(int index, Task.Status status);
+
+    /**
+     * Returns a counter that changes whenever a task is added, removed or updated through this list,
+     * or the urgent window changes.
+     *
+     * @return Current modification count.
+     */
+    public abstract int getModCount();
+
+    /**
+     * Returns the number of tasks in the list.
+     *
+     * @return Number of tasks.
+     */
+    public abstract int size();
+
+    /**
+     * Checks if the given index is valid for this list.
+     *
+     * @param index Index to check.
+     * @return True if the index is valid, false otherwise.
+     */
+    public abstract boolean isValidIndex(int index);
+
+    /**
+     * Returns all tasks as a read-only list.
+     *
+     * @return List containing all tasks, in order.
+     */
+    public abstract List<Task> getAllTasks();
+
+    /**
+     * Returns tasks whose description contains the given keyword (case-insensitive).
+     *
+     * @param keyword Keyword to search for in task descriptions.
+     * @return ArrayList of matching tasks, in list order.
+     */
+    public abstract ArrayList<Task> findTasksByKeyword(String keyword);
+
+    /**
+     * Returns the tasks whose descriptions are most similar to the text, tolerating typos.
+     * Similarity is the fraction of the text's trigrams found in a description.
+     *
+     * @param text Text to search for.
+     * @param limit Most tasks to return.
+     * @return Up to {@code limit} similar tasks, most similar first.
+     */
+    public abstract ArrayList<Task> findTasksFuzzy(String text, int limit);
+
+    /**
+     * Returns deadlines that are not done and are due within the urgent window from now.
+     *
+     * @return List of urgent deadline tasks.
+     */
+    public ArrayList<Task> getUrgentTasks() {
+        return getUrgentTasks(LocalDateTime.now());
+    }
+
+    /**
+     * Returns deadlines that are not done and are due within the urgent window from the given time.
+     *
+     * @param now Start of the urgent window.
+     * @return List of urgent deadline tasks, in list order.
+     */
+    public abstract ArrayList<Task> getUrgentTasks(LocalDateTime now);
+
+    /**
+     * Sets how far ahead a deadline has to be due to count as urgent.
+     *
+     * @param urgentWindow Length of the urgent window.
+     */
+    public abstract void setUrgentWindow(Duration urgentWindow);
+
+    /**
+     * Returns tasks that occur on the given date.
+     * Includes deadlines due on that date and events overlapping that day.
+     *
+     * @param date The date to filter by.
+     * @return List of matching tasks.
+     */
+    public ArrayList<Task> getTasksOnDate(LocalDate date) {
+        assert date != null : "date must not be null";
+        return getTasksBetween(date, date);
+    }
+
+    /**
+     * Returns tasks that occur between the given dates, both inclusive.
+     * Includes deadlines due on any of those days and events overlapping any of them.
+     *
+     * @param from First day of the range.
+     * @param to Last day of the range.
+     * @return List of matching tasks, in list order.
+     */
+    public abstract ArrayList<Task> getTasksBetween(LocalDate from, LocalDate to);
+
+    /**
+     * Returns deadlines that are not done and are due between the given dates, both inclusive.
+     *
+     * @param from First day of the range.
+     * @param to Last day of the range.
+     * @return List of matching deadlines, in list order.
+     */
+    public abstract ArrayList<Task> getPendingDeadlinesBetween(LocalDate from, LocalDate to);
+
+    /**
+     * Returns an upper bound on the number of tasks {@link #findTasksByKeyword} would return,
+     * cheaply enough to decide whether to look the keyword up.
+     *
+     * @param keyword Keyword to search for.
+     * @param limit Largest estimate of interest; counting stops there.
+     * @return Estimated number of matches, at most {@code limit}; {@code limit} if the keyword cannot be
+     *     looked up in an index.
+     */
+    public abstract int estimateKeywordMatches(String keyword, int limit);
+
+    /**
+     * Returns an upper bound on the number of tasks {@link #getTasksBetween} would return.
+     *
+     * @param from First day of the range.
+     * @param to Last day of the range.
+     * @param limit Largest estimate of interest; counting stops there.
+     * @return Estimated number of matches, at most {@code limit}.
+     */
+    public abstract int estimateTasksBetween(LocalDate from, LocalDate to, int limit);
+
+    /**
+     * Returns an upper bound on the number of tasks {@link #getPendingDeadlinesBetween} would return.
+     *
+     * @param from First day of the range.
+     * @param to Last day of the range.
+     * @param limit Largest count of interest; counting stops there.
+     * @return Number of matches, at most {@code limit}.
+     */
+    public abstract int estimatePendingDeadlinesBetween(LocalDate from, LocalDate to, int limit);
+}
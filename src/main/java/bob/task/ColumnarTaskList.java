@@ -0,0 +1,512 @@
+package bob.task;
+
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.IntPredicate;
+
+import bob.tasktype.Deadline;
+import bob.tasktype.Event;
+import bob.tasktype.Todo;
+import bob.util.DateTimeUtil;
+
+/**
+ * A task list that keeps its tasks in columns instead of as objects, for very large lists.
+ *
+ * <p>Each task takes a type byte, a done bit, an id and two epoch-minute timestamps: about 37 bytes,
+ * where a task object with its dates takes several times that. Descriptions are kept off-heap in a
+ * {@link DescriptionArena}, each followed by a lower-cased copy so that keyword searches compare bytes
+ * without creating any strings. {@link Task} objects are created only when a task is read, so changes
+ * must be made through this list; changing a returned task has no effect.
+ * Searches scan the columns instead of keeping indexes, which would cost more memory than the tasks;
+ * long lists are scanned in parallel by {@link ParallelScan}.
+ *
+ * <p>Like {@link TaskList}, the columns are indexed by slot: removing a task leaves a tombstone in its
+ * slot instead of shifting every later task, the slots are compacted once tombstones outnumber tasks,
+ * and a {@link RankTree} maps positions to slots.
+ */
+public class ColumnarTaskList extends AbstractTaskList {
+    private static final byte TYPE_TODO = 0;
+    private static final byte TYPE_DEADLINE = 1;
+    private static final byte TYPE_EVENT = 2;
+    private static final int INITIAL_CAPACITY = 16;
+    /** Fewest unused arena bytes worth compacting the arena for. */
+    private static final int MIN_GARBAGE_TO_COMPACT = 4096;
+    /** Fewest tombstones worth compacting the slots for. */
+    private static final int MIN_TOMBSTONES_TO_COMPACT = 64;
+
+    private byte[] types = new byte[INITIAL_CAPACITY];
+    private BitSet done = new BitSet();
+    /** Slots of removed tasks, until the slots are compacted. */
+    private BitSet tombstones = new BitSet();
+    private long[] ids = new long[INITIAL_CAPACITY];
+    /** Due time of a deadline or start time of an event, in epoch minutes. */
+    private long[] starts = new long[INITIAL_CAPACITY];
+    /** End time of an event, in epoch minutes. */
+    private long[] ends = new long[INITIAL_CAPACITY];
+    private int[] descriptionOffsets = new int[INITIAL_CAPACITY];
+    private int[] descriptionLengths = new int[INITIAL_CAPACITY];
+    /** Length of the lower-cased description, which follows the description in the arena. */
+    private int[] foldedLengths = new int[INITIAL_CAPACITY];
+    /** UTF-8 descriptions of all tasks; removed tasks leave unused bytes until the arena is compacted. */
+    private DescriptionArena arena = new DescriptionArena(INITIAL_CAPACITY * 32);
+    private int arenaGarbage;
+    /** Number of slots in use, including tombstones. */
+    private int slotCount;
+    private int size;
+    private RankTree ranks = new RankTree(INITIAL_CAPACITY, slot -> false);
+    private long nextId = Task.NO_ID + 1;
+    private Duration urgentWindow = DEFAULT_URGENT_WINDOW;
+    private int modCount;
+    private int parallelThreshold = ParallelScan.DEFAULT_THRESHOLD;
+    private final List<Task> view = new ColumnView();
+
+    /**
+     * Creates an empty ColumnarTaskList.
+     */
+    public ColumnarTaskList() {
+    }
+
+    /**
+     * Creates a ColumnarTaskList with the given list of tasks.
+     * Tasks without an id, or whose id does not increase along the list, are given a new id.
+     *
+     * @param tasks List of tasks to initialize with.
+     */
+    public ColumnarTaskList(ArrayList<Task> tasks) {
+        assert tasks != null : "tasks list must not be null";
+        assignIds(tasks);
+        for (Task task : tasks) {
+            append(task);
+        }
+        modCount = 0;
+    }
+
+    /**
+     * Creates a ColumnarTaskList with the given tasks.
+     *
+     * @param initialTasks Tasks to initialize with.
+     */
+    public ColumnarTaskList(Task... initialTasks) {
+        this(new ArrayList<>(Arrays.asList(initialTasks)));
+    }
+
+    /**
+     * Adds a task to the end of the list, giving it the next id if it has none.
+     * Only the task's contents are kept; the object itself is not retained.
+     *
+     * @param task Task to add.
+     */
+    @Override
+    public void add(Task task) {
+        assert task != null : "task must not be null";
+        if (task.getId() == Task.NO_ID) {
+            task.setId(nextId);
+        }
+        append(task);
+    }
+
+    /**
+     * Removes and returns the task at the specified index.
+     * The task's slot becomes a tombstone, so later tasks do not move.
+     *
+     * @param index Index of the task to remove.
+     * @return The removed task.
+     */
+    @Override
+    public Task remove(int index) {
+        assert isInRange(index) : "index must be valid (0 to size-1)";
+        int slot = ranks.select(index);
+        Task removed = taskIn(slot);
+        tombstones.set(slot);
+        done.clear(slot);
+        ranks.add(slot, -1);
+        size--;
+        arenaGarbage += descriptionLengths[slot] + foldedLengths[slot];
+        int tombstoneCount = slotCount - size;
+        if (tombstoneCount >= MIN_TOMBSTONES_TO_COMPACT && tombstoneCount > size) {
+            compactSlots(types.length);
+        }
+        if (arenaGarbage >= MIN_GARBAGE_TO_COMPACT && arenaGarbage > arena.size() - arenaGarbage) {
+            compactArena(Math.max(arena.capacity() / 2, arena.size() - arenaGarbage));
+        }
+        modCount++;
+        return removed;
+    }
+
+    /**
+     * Returns the task at the specified index, created from its columns.
+     *
+     * @param index Index of the task to retrieve.
+     * @return A new task object holding the task's current contents.
+     */
+    @Override
+    public Task get(int index) {
+        assert isInRange(index) : "index must be valid (0 to size-1)";
+        return taskIn(ranks.select(index));
+    }
+
+    @Override
+    public Task setStatus(int index, Task.Status status) {
+        assert isInRange(index) : "index must be valid (0 to size-1)";
+        int slot = ranks.select(index);
+        boolean isDone = status == Task.Status.DONE;
+        if (done.get(slot) != isDone) {
+            done.set(slot, isDone);
+            modCount++;
+        }
+        return taskIn(slot);
+    }
+
+    @Override
+    public int getModCount() {
+        return modCount;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isValidIndex(int index) {
+        return isInRange(index);
+    }
+
+    /**
+     * Returns all tasks as a read-only view that follows later changes to this list.
+     * Every access to the view creates a new task object.
+     *
+     * @return List containing all tasks, in order.
+     */
+    @Override
+    public List<Task> getAllTasks() {
+        return view;
+    }
+
+    /**
+     * Returns tasks whose description contains the given keyword (case-insensitive).
+     * Only the matching tasks are decoded; the others are compared as bytes.
+     *
+     * @param keyword Keyword to search for in task descriptions.
+     * @return ArrayList of matching tasks.
+     */
+    @Override
+    public ArrayList<Task> findTasksByKeyword(String keyword) {
+        assert keyword != null : "keyword must not be null";
+        byte[] needle = keyword.toLowerCase().getBytes(StandardCharsets.UTF_8);
+        return scan(i -> arena.contains(descriptionOffsets[i] + descriptionLengths[i], foldedLengths[i], needle));
+    }
+
+    /**
+     * Returns the tasks whose descriptions are most similar to the text, tolerating typos.
+     * Without an index, every lower-cased description is decoded and split into trigrams, reusing the
+     * same buffers for every task.
+     *
+     * @param text Text to search for.
+     * @param limit Most tasks to return.
+     * @return Up to {@code limit} similar tasks, most similar first.
+     */
+    @Override
+    public ArrayList<Task> findTasksFuzzy(String text, int limit) {
+        assert text != null : "text must not be null";
+        FuzzyIndex.GramBuffer query = new FuzzyIndex.GramBuffer();
+        query.fill(text.toLowerCase());
+        FuzzyIndex.TopMatches top = new FuzzyIndex.TopMatches(query.count(), limit);
+        FuzzyIndex.GramBuffer description = new FuzzyIndex.GramBuffer();
+        CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        CharBuffer chars = CharBuffer.allocate(INITIAL_CAPACITY * 4);
+        for (int i = tombstones.nextClearBit(0); i < slotCount; i = tombstones.nextClearBit(i + 1)) {
+            chars = arena.decode(descriptionOffsets[i] + descriptionLengths[i], foldedLengths[i], decoder, chars);
+            description.fill(chars);
+            int shared = query.countShared(description);
+            if (shared > 0) {
+                top.offer(i, shared, description.count()); // slots follow list order like ids
+            }
+        }
+        ArrayList<Task> matching = new ArrayList<>();
+        for (long slot : top.results()) {
+            matching.add(taskIn((int) slot));
+        }
+        return matching;
+    }
+
+    @Override
+    public ArrayList<Task> getUrgentTasks(LocalDateTime now) {
+        assert now != null : "now must not be null";
+        long start = firstMinuteFrom(now);
+        long end = firstMinuteFrom(now.plus(urgentWindow));
+        return scan(i -> types[i] == TYPE_DEADLINE && !done.get(i) && starts[i] >= start && starts[i] < end);
+    }
+
+    @Override
+    public void setUrgentWindow(Duration urgentWindow) {
+        assert urgentWindow != null && !urgentWindow.isNegative() : "urgentWindow must not be negative";
+        this.urgentWindow = urgentWindow;
+        modCount++;
+    }
+
+    @Override
+    public ArrayList<Task> getTasksBetween(LocalDate from, LocalDate to) {
+        assert from != null && to != null : "dates must not be null";
+        assert !to.isBefore(from) : "range must not end before it starts";
+        long start = DateTimeUtil.toEpochMinute(from.atStartOfDay());
+        long end = DateTimeUtil.toEpochMinute(to.plusDays(1).atStartOfDay());
+        return scan(i -> (types[i] == TYPE_DEADLINE && starts[i] >= start && starts[i] < end)
+                || (types[i] == TYPE_EVENT && ends[i] >= start && starts[i] < end));
+    }
+
+    @Override
+    public ArrayList<Task> getPendingDeadlinesBetween(LocalDate from, LocalDate to) {
+        assert from != null && to != null : "dates must not be null";
+        assert !to.isBefore(from) : "range must not end before it starts";
+        long start = DateTimeUtil.toEpochMinute(from.atStartOfDay());
+        long end = DateTimeUtil.toEpochMinute(to.plusDays(1).atStartOfDay());
+        return scan(i -> types[i] == TYPE_DEADLINE && !done.get(i) && starts[i] >= start && starts[i] < end);
+    }
+
+    /**
+     * Returns {@code limit}, capped at the list size: without indexes every search scans the list.
+     */
+    @Override
+    public int estimateKeywordMatches(String keyword, int limit) {
+        return Math.min(size, limit);
+    }
+
+    /**
+     * Returns {@code limit}, capped at the list size: without indexes every search scans the list.
+     */
+    @Override
+    public int estimateTasksBetween(LocalDate from, LocalDate to, int limit) {
+        return Math.min(size, limit);
+    }
+
+    /**
+     * Returns {@code limit}, capped at the list size: without indexes every search scans the list.
+     */
+    @Override
+    public int estimatePendingDeadlinesBetween(LocalDate from, LocalDate to, int limit) {
+        return Math.min(size, limit);
+    }
+
+    /**
+     * Sets the fewest tasks for which searches are split across threads.
+     *
+     * @param parallelThreshold List size from which searches run in parallel.
+     */
+    void setParallelThreshold(int parallelThreshold) {
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    // Public methods with logic of their own call these helpers rather than other public methods,
+    // matching TaskList
+    private boolean isInRange(int index) {
+        return index >= 0 && index < size;
+    }
+
+    private Task taskIn(int slot) {
+        String description = descriptionAt(slot);
+        Task task;
+        switch (types[slot]) {
+        case TYPE_DEADLINE:
+            task = new Deadline(description, DateTimeUtil.fromEpochMinute(starts[slot]));
+            break;
+        case TYPE_EVENT:
+            task = new Event(description, DateTimeUtil.fromEpochMinute(starts[slot]),
+                    DateTimeUtil.fromEpochMinute(ends[slot]));
+            break;
+        default:
+            task = new Todo(description);
+            break;
+        }
+        task.setId(ids[slot]);
+        if (done.get(slot)) {
+            task.setStatus(Task.Status.DONE);
+        }
+        return task;
+    }
+
+    /**
+     * Returns the tasks in the slots that match, in list order. Tombstones never match.
+     */
+    private ArrayList<Task> scan(IntPredicate matches) {
+        BitSet removed = tombstones;
+        return ParallelScan.collect(slotCount, parallelThreshold, i -> !removed.get(i) && matches.test(i),
+                this::taskIn);
+    }
+
+    private String descriptionAt(int slot) {
+        return arena.decode(descriptionOffsets[slot], descriptionLengths[slot]);
+    }
+
+    /**
+     * Copies a task into the columns at the end of the list.
+     */
+    private void append(Task task) {
+        assert task.getId() >= nextId : "task ids must increase along the list";
+        nextId = task.getId() + 1;
+        if (slotCount == types.length) {
+            resizeSlots();
+        }
+        int slot = slotCount;
+        byte[] description = task.getDescription().getBytes(StandardCharsets.UTF_8);
+        byte[] folded = task.getDescription().toLowerCase().getBytes(StandardCharsets.UTF_8);
+        makeRoomInArena(description.length + folded.length);
+        descriptionOffsets[slot] = arena.append(description);
+        descriptionLengths[slot] = description.length;
+        arena.append(folded);
+        foldedLengths[slot] = folded.length;
+
+        if (task instanceof Deadline) {
+            types[slot] = TYPE_DEADLINE;
+            starts[slot] = DateTimeUtil.toEpochMinute(((Deadline) task).getBy());
+        } else if (task instanceof Event) {
+            types[slot] = TYPE_EVENT;
+            starts[slot] = DateTimeUtil.toEpochMinute(((Event) task).getFrom());
+            ends[slot] = DateTimeUtil.toEpochMinute(((Event) task).getTo());
+        } else {
+            types[slot] = TYPE_TODO;
+        }
+        ids[slot] = task.getId();
+        done.set(slot, task.getStatus() == Task.Status.DONE);
+        ranks.add(slot, 1);
+        slotCount++;
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Makes room for another slot: drops the tombstones if they take up a quarter of the slots,
+     * and doubles the capacity otherwise.
+     */
+    private void resizeSlots() {
+        boolean hasManyTombstones = slotCount - size >= types.length / 4;
+        compactSlots(hasManyTombstones ? types.length : types.length * 2);
+    }
+
+    /**
+     * Moves every task to the front of columns of the given capacity, dropping the tombstones.
+     */
+    private void compactSlots(int capacity) {
+        byte[] compactedTypes = new byte[capacity];
+        BitSet compactedDone = new BitSet();
+        long[] compactedIds = new long[capacity];
+        long[] compactedStarts = new long[capacity];
+        long[] compactedEnds = new long[capacity];
+        int[] compactedOffsets = new int[capacity];
+        int[] compactedLengths = new int[capacity];
+        int[] compactedFoldedLengths = new int[capacity];
+        int count = 0;
+        for (int i = tombstones.nextClearBit(0); i < slotCount; i = tombstones.nextClearBit(i + 1)) {
+            compactedTypes[count] = types[i];
+            compactedDone.set(count, done.get(i));
+            compactedIds[count] = ids[i];
+            compactedStarts[count] = starts[i];
+            compactedEnds[count] = ends[i];
+            compactedOffsets[count] = descriptionOffsets[i];
+            compactedLengths[count] = descriptionLengths[i];
+            compactedFoldedLengths[count] = foldedLengths[i];
+            count++;
+        }
+        types = compactedTypes;
+        done = compactedDone;
+        ids = compactedIds;
+        starts = compactedStarts;
+        ends = compactedEnds;
+        descriptionOffsets = compactedOffsets;
+        descriptionLengths = compactedLengths;
+        foldedLengths = compactedFoldedLengths;
+        tombstones = new BitSet();
+        slotCount = count;
+        ranks = new RankTree(capacity, slot -> slot < slotCount);
+    }
+
+    /**
+     * Makes room for the given number of bytes by dropping unused bytes if the arena is full and that
+     * frees enough room; otherwise the arena doubles its capacity when the bytes are appended.
+     */
+    private void makeRoomInArena(int needed) {
+        boolean isFull = arena.size() + needed > arena.capacity();
+        if (isFull && arenaGarbage >= needed && arenaGarbage >= arena.capacity() / 4) {
+            compactArena(arena.capacity());
+        }
+    }
+
+    /**
+     * Moves the description of every task that was not removed to the front of an arena of the given
+     * capacity, in list order.
+     */
+    private void compactArena(int capacity) {
+        DescriptionArena compacted = new DescriptionArena(capacity);
+        for (int i = tombstones.nextClearBit(0); i < slotCount; i = tombstones.nextClearBit(i + 1)) {
+            int length = descriptionLengths[i] + foldedLengths[i];
+            descriptionOffsets[i] = compacted.append(arena, descriptionOffsets[i], length);
+        }
+        arena = compacted;
+        arenaGarbage = 0;
+    }
+
+    /**
+     * Returns the first whole minute at or after the given time, so that comparing minutes gives
+     * the same result as comparing the times.
+     */
+    private static long firstMinuteFrom(LocalDateTime time) {
+        long minute = DateTimeUtil.toEpochMinute(time);
+        boolean hasSeconds = time.getSecond() != 0 || time.getNano() != 0;
+        return hasSeconds ? minute + 1 : minute;
+    }
+
+    /**
+     * Read-only view of the tasks in list order, creating each task as it is accessed. Iteration walks
+     * the slots directly; positional access goes through the rank tree.
+     */
+    private class ColumnView extends AbstractList<Task> {
+        @Override
+        public Task get(int index) {
+            if (!isInRange(index)) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+            return taskIn(ranks.select(index));
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Iterator<Task> iterator() {
+            return new Iterator<>() {
+                private int slot = tombstones.nextClearBit(0);
+
+                @Override
+                public boolean hasNext() {
+                    return slot < slotCount;
+                }
+
+                @Override
+                public Task next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    Task task = taskIn(slot);
+                    slot = tombstones.nextClearBit(slot + 1);
+                    return task;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,289 @@
+package bob.task;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * A {@link TaskList} that can be shared between threads, e.g. by several sessions.
+ *
+ * <p>Queries run under the read lock of a {@link StampedLock}, so any number of them proceed in
+ * parallel; changes take the write lock and are applied one at a time. {@link #getAllTasks()}
+ * returns an immutable snapshot of which tasks are in the list, rebuilt only after a change, so listing
+ * the tasks is a single volatile read while nothing changes. The snapshot shares the task objects with
+ * the list, so a later status change is visible through it; additions and removals are not.
+ * Tasks must only be modified through this list.
+ */
+public class ConcurrentTaskList extends TaskList {
+    private final StampedLock lock = new StampedLock();
+    /** Immutable copy of the tasks, or null if the list changed since it was taken. */
+    private volatile List<Task> snapshot;
+
+    /**
+     * Creates an empty ConcurrentTaskList.
+     */
+    public ConcurrentTaskList() {
+        super();
+    }
+
+    /**
+     * Creates a ConcurrentTaskList with the given list of tasks.
+     *
+     * @param tasks List of tasks to initialize with.
+     */
+    public ConcurrentTaskList(ArrayList<Task> tasks) {
+        super(tasks);
+    }
+
+    /**
+     * Creates a ConcurrentTaskList with the given tasks.
+     *
+     * @param initialTasks Tasks to initialize with.
+     */
+    public ConcurrentTaskList(Task... initialTasks) {
+        super(initialTasks);
+    }
+
+    @Override
+    public void add(Task task) {
+        long stamp = lock.writeLock();
+        try {
+            super.add(task);
+            snapshot = null;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Adds multiple tasks to the list as a single change, so that no reader sees only some of them.
+     *
+     * @param tasks Tasks to add.
+     */
+    @Override
+    public void add(Task... tasks) {
+        assert tasks != null : "tasks array must not be null";
+        long stamp = lock.writeLock();
+        try {
+            for (Task task : tasks) {
+                super.add(task);
+            }
+            snapshot = null;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public Task remove(int index) {
+        long stamp = lock.writeLock();
+        try {
+            Task removed = super.remove(index);
+            snapshot = null;
+            return removed;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Removes {@code count} consecutive tasks as a single change, so that no reader sees only some of
+     * them removed.
+     *
+     * @param index 0-based index of the first task to remove.
+     * @param count Number of tasks to remove.
+     * @return Removed tasks, in list order.
+     */
+    public List<Task> remove(int index, int count) {
+        long stamp = lock.writeLock();
+        try {
+            assert count >= 0 && index >= 0 && index + count <= super.size() : "range must be within the list";
+            List<Task> removed = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                removed.add(super.remove(index));
+            }
+            snapshot = null;
+            return removed;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public Task setStatus(int index, Task.Status status) {
+        long stamp = lock.writeLock();
+        try {
+            Task task = super.setStatus(index, status);
+            snapshot = null;
+            return task;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void setUrgentWindow(Duration urgentWindow) {
+        long stamp = lock.writeLock();
+        try {
+            super.setUrgentWindow(urgentWindow);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public Task get(int index) {
+        long stamp = lock.readLock();
+        try {
+            return super.get(index);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public int size() {
+        long stamp = lock.tryOptimisticRead();
+        int size = super.size();
+        if (lock.validate(stamp)) {
+            return size;
+        }
+        stamp = lock.readLock();
+        try {
+            return super.size();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public boolean isValidIndex(int index) {
+        long stamp = lock.readLock();
+        try {
+            return super.isValidIndex(index);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public int getModCount() {
+        long stamp = lock.tryOptimisticRead();
+        int modCount = super.getModCount();
+        if (lock.validate(stamp)) {
+            return modCount;
+        }
+        stamp = lock.readLock();
+        try {
+            return super.getModCount();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Returns an immutable snapshot of the tasks. Tasks added to or removed from this list later do not
+     * affect it, but the tasks in it are shared with the list, so later status changes show through.
+     *
+     * @return List containing all tasks, in order.
+     */
+    @Override
+    public List<Task> getAllTasks() {
+        List<Task> current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        long stamp = lock.readLock();
+        try {
+            // Published under the read lock, so no change can slip in between the copy and the store
+            current = List.copyOf(super.getAllTasks());
+            snapshot = current;
+            return current;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public ArrayList<Task> findTasksByKeyword(String keyword) {
+        long stamp = lock.readLock();
+        try {
+            return super.findTasksByKeyword(keyword);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public ArrayList<Task> findTasksFuzzy(String text, int limit) {
+        long stamp = lock.readLock();
+        try {
+            return super.findTasksFuzzy(text, limit);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public ArrayList<Task> getUrgentTasks(LocalDateTime now) {
+        long stamp = lock.readLock();
+        try {
+            return super.getUrgentTasks(now);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public ArrayList<Task> getTasksBetween(LocalDate from, LocalDate to) {
+        long stamp = lock.readLock();
+        try {
+            return super.getTasksBetween(from, to);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public ArrayList<Task> getPendingDeadlinesBetween(LocalDate from, LocalDate to) {
+        long stamp = lock.readLock();
+        try {
+            return super.getPendingDeadlinesBetween(from, to);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public int estimateKeywordMatches(String keyword, int limit) {
+        long stamp = lock.readLock();
+        try {
+            return super.estimateKeywordMatches(keyword, limit);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public int estimateTasksBetween(LocalDate from, LocalDate to, int limit) {
+        long stamp = lock.readLock();
+        try {
+            return super.estimateTasksBetween(from, to, limit);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public int estimatePendingDeadlinesBetween(LocalDate from, LocalDate to, int limit) {
+        long stamp = lock.readLock();
+        try {
+            return super.estimatePendingDeadlinesBetween(from, to, limit);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+}
@@ -0,0 +1,303 @@
+package bob.task;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import bob.tasktype.Deadline;
+import bob.tasktype.Event;
+
+/**
+ * Index of deadlines by due time and of events by the interval they span, so that the tasks
+ * falling in a time range are found without scanning the list.
+ *
+ * <p>Deadlines are kept in a sorted map, with the ones not yet done also in a second map so that
+ * upcoming deadlines can be listed without skipping over finished ones. Events are kept in an
+ * interval tree: a treap ordered by start time in which every node also records the latest end
+ * time in its subtree, so that subtrees holding only events that end before the range can be skipped.
+ */
+class DateIndex {
+    private final TreeMap<Key, Task> deadlines = new TreeMap<>();
+    private final TreeMap<Key, Task> pendingDeadlines = new TreeMap<>();
+    private final Random priorities = new Random();
+    private EventNode eventRoot;
+
+    /**
+     * Orders tasks by a timestamp, breaking ties by sequence number.
+     */
+    record Key(LocalDateTime time, long seq) implements Comparable<Key> {
+        @Override
+        public int compareTo(Key other) {
+            int byTime = time.compareTo(other.time);
+            return (byTime != 0) ? byTime : Long.compare(seq, other.seq);
+        }
+    }
+
+    /**
+     * Indexes a task if it is a deadline or an event.
+     *
+     * @param seq Sequence number of the task.
+     * @param task Task to index.
+     */
+    void add(long seq, Task task) {
+        if (task instanceof Deadline) {
+            Key key = new Key(((Deadline) task).getBy(), seq);
+            deadlines.put(key, task);
+            if (task.getStatus() != Task.Status.DONE) {
+                pendingDeadlines.put(key, task);
+            }
+        } else if (task instanceof Event) {
+            Event event = (Event) task;
+            eventRoot = insert(eventRoot, new EventNode(new Key(event.getFrom(), seq), event, priorities.nextInt()));
+        }
+    }
+
+    /**
+     * Removes a task from the index.
+     *
+     * @param seq Sequence number the task was added with.
+     * @param task Task to remove.
+     */
+    void remove(long seq, Task task) {
+        if (task instanceof Deadline) {
+            Key key = new Key(((Deadline) task).getBy(), seq);
+            deadlines.remove(key);
+            pendingDeadlines.remove(key);
+        } else if (task instanceof Event) {
+            eventRoot = delete(eventRoot, new Key(((Event) task).getFrom(), seq));
+        }
+    }
+
+    /**
+     * Updates the index after the status of an indexed task changed.
+     *
+     * @param seq Sequence number the task was added with.
+     * @param task Task whose status changed.
+     */
+    void updateStatus(long seq, Task task) {
+        if (!(task instanceof Deadline)) {
+            return;
+        }
+        Key key = new Key(((Deadline) task).getBy(), seq);
+        if (task.getStatus() == Task.Status.DONE) {
+            pendingDeadlines.remove(key);
+        } else {
+            pendingDeadlines.put(key, task);
+        }
+    }
+
+    /**
+     * Returns the deadlines that are not done and are due in {@code [start, end)}.
+     *
+     * @param start Start of the range (inclusive).
+     * @param end End of the range (exclusive).
+     * @return Matching deadlines in list order.
+     */
+    ArrayList<Task> findPendingDeadlines(LocalDateTime start, LocalDateTime end) {
+        TreeMap<Long, Task> matching = new TreeMap<>();
+        collectDeadlines(pendingDeadlines, start, end, matching);
+        return new ArrayList<>(matching.values());
+    }
+
+    /**
+     * Returns the deadlines due in {@code [start, end)} and the events overlapping it.
+     *
+     * @param start Start of the range (inclusive).
+     * @param end End of the range (exclusive).
+     * @return Matching tasks in list order.
+     */
+    ArrayList<Task> find(LocalDateTime start, LocalDateTime end) {
+        TreeMap<Long, Task> matching = new TreeMap<>();
+        collectDeadlines(deadlines, start, end, matching);
+        collectOverlapping(eventRoot, start, end, matching);
+        return new ArrayList<>(matching.values());
+    }
+
+    /**
+     * Returns an upper bound on the number of tasks {@link #find} would return for {@code [start, end)}:
+     * the deadlines due in the range plus the events starting before its end.
+     *
+     * @param start Start of the range (inclusive).
+     * @param end End of the range (exclusive).
+     * @param limit Largest estimate of interest; counting stops there.
+     * @return Estimated number of matches, at most {@code limit}.
+     */
+    int estimate(LocalDateTime start, LocalDateTime end, int limit) {
+        int events = countStartingBefore(eventRoot, end);
+        return events >= limit ? limit : events + countDeadlines(deadlines, start, end, limit - events);
+    }
+
+    /**
+     * Returns the number of deadlines that are not done and are due in {@code [start, end)}.
+     *
+     * @param start Start of the range (inclusive).
+     * @param end End of the range (exclusive).
+     * @param limit Largest count of interest; counting stops there.
+     * @return Number of matching deadlines, at most {@code limit}.
+     */
+    int countPendingDeadlines(LocalDateTime start, LocalDateTime end, int limit) {
+        return countDeadlines(pendingDeadlines, start, end, limit);
+    }
+
+    private static int countDeadlines(TreeMap<Key, Task> deadlines, LocalDateTime start, LocalDateTime end,
+            int limit) {
+        int count = 0;
+        for (Key ignored : deadlines.subMap(
+                new Key(start, Long.MIN_VALUE), true, new Key(end, Long.MIN_VALUE), false).keySet()) {
+            if (++count >= limit) {
+                break;
+            }
+        }
+        return Math.min(count, limit);
+    }
+
+    /**
+     * Counts the events in the subtree that start before {@code end}, in O(log n).
+     */
+    private static int countStartingBefore(EventNode node, LocalDateTime end) {
+        int count = 0;
+        while (node != null) {
+            if (node.key.time().isBefore(end)) {
+                count += 1 + ((node.left != null) ? node.left.count : 0);
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return count;
+    }
+
+    private static void collectDeadlines(TreeMap<Key, Task> deadlines, LocalDateTime start, LocalDateTime end,
+            TreeMap<Long, Task> matching) {
+        for (Map.Entry<Key, Task> entry : deadlines.subMap(
+                new Key(start, Long.MIN_VALUE), true, new Key(end, Long.MIN_VALUE), false).entrySet()) {
+            matching.put(entry.getKey().seq(), entry.getValue());
+        }
+    }
+
+    /**
+     * Adds the events in the subtree that end at or after {@code start} and start before {@code end}.
+     */
+    private static void collectOverlapping(EventNode node, LocalDateTime start, LocalDateTime end,
+            TreeMap<Long, Task> matching) {
+        if (node == null || node.maxTo.isBefore(start)) {
+            return;
+        }
+        collectOverlapping(node.left, start, end, matching);
+        if (!node.key.time().isBefore(end)) {
+            return; // this event and everything to its right start too late
+        }
+        if (!node.event.getTo().isBefore(start)) {
+            matching.put(node.key.seq(), node.event);
+        }
+        collectOverlapping(node.right, start, end, matching);
+    }
+
+    private static EventNode insert(EventNode node, EventNode added) {
+        if (node == null) {
+            return added;
+        }
+        if (added.key.compareTo(node.key) < 0) {
+            node.left = insert(node.left, added);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, added);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        node.update();
+        return node;
+    }
+
+    private static EventNode delete(EventNode node, Key key) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = key.compareTo(node.key);
+        if (cmp < 0) {
+            node.left = delete(node.left, key);
+        } else if (cmp > 0) {
+            node.right = delete(node.right, key);
+        } else {
+            return merge(node.left, node.right);
+        }
+        node.update();
+        return node;
+    }
+
+    /**
+     * Joins two treaps where every key in {@code left} is smaller than every key in {@code right}.
+     */
+    private static EventNode merge(EventNode left, EventNode right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.update();
+            return left;
+        }
+        right.left = merge(left, right.left);
+        right.update();
+        return right;
+    }
+
+    private static EventNode rotateRight(EventNode node) {
+        EventNode pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        node.update();
+        pivot.update();
+        return pivot;
+    }
+
+    private static EventNode rotateLeft(EventNode node) {
+        EventNode pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        node.update();
+        pivot.update();
+        return pivot;
+    }
+
+    /**
+     * Treap node holding one event, keyed by its start time.
+     */
+    private static class EventNode {
+        private final Key key;
+        private final Event event;
+        private final int priority;
+        private EventNode left;
+        private EventNode right;
+        /** Latest end time of any event in this subtree. */
+        private LocalDateTime maxTo;
+        /** Number of events in this subtree. */
+        private int count = 1;
+
+        EventNode(Key key, Event event, int priority) {
+            this.key = key;
+            this.event = event;
+            this.priority = priority;
+            this.maxTo = event.getTo();
+        }
+
+        void update() {
+            count = 1 + ((left != null) ? left.count : 0) + ((right != null) ? right.count : 0);
+            maxTo = event.getTo();
+            if (left != null && left.maxTo.isAfter(maxTo)) {
+                maxTo = left.maxTo;
+            }
+            if (right != null && right.maxTo.isAfter(maxTo)) {
+                maxTo = right.maxTo;
+            }
+        }
+    }
+}
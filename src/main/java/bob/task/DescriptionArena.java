@@ -0,0 +1,153 @@
+package bob.task;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Append-only store of UTF-8 encoded descriptions in a direct (off-heap) buffer, so that the bytes of
+ * a large list are neither scanned nor copied by the garbage collector.
+ * Entries are addressed by the offset returned when they were appended and their length in bytes.
+ */
+class DescriptionArena {
+    private ByteBuffer buffer;
+    private int size;
+
+    /**
+     * Creates an empty arena.
+     *
+     * @param capacity Initial capacity in bytes.
+     */
+    DescriptionArena(int capacity) {
+        buffer = ByteBuffer.allocateDirect(capacity);
+    }
+
+    /**
+     * Returns the number of bytes the arena can hold before it has to grow.
+     *
+     * @return Capacity in bytes.
+     */
+    int capacity() {
+        return buffer.capacity();
+    }
+
+    /**
+     * Returns the number of bytes appended so far, including those of entries no longer used.
+     *
+     * @return Bytes in use.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Appends bytes to the arena, growing it if needed.
+     *
+     * @param bytes Bytes to append.
+     * @return Offset of the appended bytes.
+     */
+    int append(byte[] bytes) {
+        ensureCapacity(bytes.length);
+        int offset = size;
+        buffer.put(offset, bytes);
+        size += bytes.length;
+        return offset;
+    }
+
+    /**
+     * Appends a range of another arena's bytes to this one, growing it if needed.
+     *
+     * @param source Arena to copy from.
+     * @param offset Offset of the range in the source arena.
+     * @param length Length of the range in bytes.
+     * @return Offset of the copied bytes in this arena.
+     */
+    int append(DescriptionArena source, int offset, int length) {
+        ensureCapacity(length);
+        int copiedOffset = size;
+        buffer.put(copiedOffset, source.buffer, offset, length);
+        size += length;
+        return copiedOffset;
+    }
+
+    /**
+     * Decodes an entry into a String.
+     *
+     * @param offset Offset of the entry.
+     * @param length Length of the entry in bytes.
+     * @return The decoded text.
+     */
+    String decode(int offset, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Decodes an entry into a reusable buffer, so that scanning many entries creates no strings.
+     *
+     * @param offset Offset of the entry.
+     * @param length Length of the entry in bytes.
+     * @param decoder UTF-8 decoder to use.
+     * @param chars Buffer to decode into; a larger one is allocated if it may not hold the entry.
+     * @return Buffer holding the decoded text from 0 to its limit.
+     */
+    CharBuffer decode(int offset, int length, CharsetDecoder decoder, CharBuffer chars) {
+        // A UTF-8 entry never decodes to more chars than it has bytes
+        CharBuffer out = (chars.capacity() >= length)
+                ? chars
+                : CharBuffer.allocate(Math.max(length, chars.capacity() * 2));
+        out.clear();
+        decoder.reset();
+        decoder.decode(buffer.slice(offset, length), out, true);
+        decoder.flush(out);
+        out.flip();
+        return out;
+    }
+
+    /**
+     * Returns whether an entry contains the given bytes, without copying the entry.
+     * For UTF-8 entries and needles this is the same as checking that the text contains the needle text.
+     *
+     * @param offset Offset of the entry.
+     * @param length Length of the entry in bytes.
+     * @param needle Bytes to look for.
+     * @return True if the needle occurs in the entry.
+     */
+    boolean contains(int offset, int length, byte[] needle) {
+        if (needle.length == 0) {
+            return true;
+        }
+        byte first = needle[0];
+        int last = offset + length - needle.length;
+        for (int i = offset; i <= last; i++) {
+            if (buffer.get(i) == first && matchesAt(i, needle)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean matchesAt(int position, byte[] needle) {
+        for (int j = 1; j < needle.length; j++) {
+            if (buffer.get(position + j) != needle[j]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Doubles the capacity until another {@code needed} bytes fit.
+     */
+    private void ensureCapacity(int needed) {
+        if (size + needed <= buffer.capacity()) {
+            return;
+        }
+        int capacity = Math.max(buffer.capacity() * 2, size + needed);
+        ByteBuffer grown = ByteBuffer.allocateDirect(capacity);
+        grown.put(0, buffer, 0, size);
+        buffer = grown;
+    }
+}
@@ -0,0 +1,362 @@
+package bob.task;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Trigram index over task descriptions for typo-tolerant search.
+ *
+ * <p>Each word of a lower-cased description is padded with two spaces in front and one behind, so
+ * that its start and end form grams of their own, and split into overlapping three-character grams.
+ * A task's similarity to a search text is the fraction of the text's grams found in the task's
+ * description; tasks are ranked by similarity, then by how few grams they have (closer in length),
+ * then in list order.
+ *
+ * <p>Searches use prefix filtering: a task that shares fewer than {@code t} of the text's {@code q} grams
+ * is not similar enough, so every match contains at least one of the {@code q - t + 1} rarest grams.
+ * Only the postings of those grams are read to find candidates; each candidate is then checked against
+ * the other grams by binary search. Common grams such as the start of a frequent word therefore cost
+ * nothing per task that contains them.
+ */
+class FuzzyIndex {
+    /** Lowest similarity for a task to count as a match. */
+    static final double MIN_SIMILARITY = 0.4;
+    private static final int GRAM_LENGTH = 3;
+    /** Postings of a gram that no task has. */
+    private static final Postings EMPTY = new Postings();
+
+    private final Map<Long, Entry> entriesBySeq = new HashMap<>();
+    private final Map<Long, Postings> postingsByGram = new HashMap<>();
+
+    /**
+     * Indexes a task. Tasks must be added in increasing sequence order.
+     *
+     * @param seq Sequence number of the task.
+     * @param task Task to index.
+     */
+    void add(long seq, Task task) {
+        GramBuffer grams = descriptionGrams(task);
+        entriesBySeq.put(seq, new Entry(task, grams.count));
+        for (int i = 0; i < grams.count; i++) {
+            postingsByGram.computeIfAbsent(grams.grams[i], g -> new Postings()).add(seq);
+        }
+    }
+
+    /**
+     * Removes a task from the index.
+     *
+     * @param seq Sequence number the task was added with.
+     * @param task Task to remove.
+     */
+    void remove(long seq, Task task) {
+        entriesBySeq.remove(seq);
+        GramBuffer grams = descriptionGrams(task);
+        for (int i = 0; i < grams.count; i++) {
+            Postings postings = postingsByGram.get(grams.grams[i]);
+            if (postings != null && postings.remove(seq) && postings.size() == 0) {
+                postingsByGram.remove(grams.grams[i]);
+            }
+        }
+    }
+
+    /**
+     * Returns the tasks most similar to the text, best first.
+     *
+     * @param text Text to search for.
+     * @param limit Most tasks to return.
+     * @return Up to {@code limit} tasks with at least {@link #MIN_SIMILARITY}, best first.
+     */
+    ArrayList<Task> find(String text, int limit) {
+        Set<Long> grams = gramsOf(text);
+        List<Postings> postingsByRarity = postingsByRarity(grams);
+        int prefixLength = prefixLength(grams.size());
+        Map<Long, Integer> shared = new HashMap<>();
+        for (int i = 0; i < prefixLength; i++) {
+            postingsByRarity.get(i).forEach(seq -> shared.merge(seq, 1, Integer::sum));
+        }
+
+        TopMatches top = new TopMatches(grams.size(), limit);
+        for (Map.Entry<Long, Integer> candidate : shared.entrySet()) {
+            long seq = candidate.getKey();
+            int count = candidate.getValue();
+            for (int i = prefixLength; i < postingsByRarity.size(); i++) {
+                if (postingsByRarity.get(i).contains(seq)) {
+                    count++;
+                }
+            }
+            top.offer(seq, count, entriesBySeq.get(seq).gramCount);
+        }
+        ArrayList<Task> matching = new ArrayList<>();
+        for (long seq : top.results()) {
+            matching.add(entriesBySeq.get(seq).task);
+        }
+        return matching;
+    }
+
+    /**
+     * Returns the number of postings entries {@link #find} reads to find candidates for the text, so that
+     * tests can check that searches do not read the postings of common grams.
+     *
+     * @param text Text to search for.
+     * @return Postings entries read.
+     */
+    int countPostingsRead(String text) {
+        Set<Long> grams = gramsOf(text);
+        List<Postings> postingsByRarity = postingsByRarity(grams);
+        int read = 0;
+        for (int i = 0; i < prefixLength(grams.size()); i++) {
+            read += postingsByRarity.get(i).size();
+        }
+        return read;
+    }
+
+    /**
+     * Returns the postings of the grams, rarest first.
+     */
+    private List<Postings> postingsByRarity(Set<Long> grams) {
+        List<Postings> postingsByRarity = new ArrayList<>(grams.size());
+        for (long gram : grams) {
+            postingsByRarity.add(postingsByGram.getOrDefault(gram, EMPTY));
+        }
+        postingsByRarity.sort(Comparator.comparingInt(Postings::size));
+        return postingsByRarity;
+    }
+
+    /**
+     * Returns how many of the rarest of {@code queryGramCount} grams every match contains at least one of.
+     */
+    private static int prefixLength(int queryGramCount) {
+        return queryGramCount - minSharedGrams(queryGramCount) + 1;
+    }
+
+    /**
+     * Returns the fewest of {@code queryGramCount} grams a task must share to reach
+     * {@link #MIN_SIMILARITY}, computed the same way {@link TopMatches} compares similarities.
+     */
+    private static int minSharedGrams(int queryGramCount) {
+        int minShared = 1;
+        while (minShared < queryGramCount && (double) minShared / queryGramCount < MIN_SIMILARITY) {
+            minShared++;
+        }
+        return minShared;
+    }
+
+    /**
+     * Returns the distinct grams of a task's lower-cased description.
+     */
+    private static GramBuffer descriptionGrams(Task task) {
+        GramBuffer grams = new GramBuffer();
+        grams.fill(task.getDescription().toLowerCase());
+        return grams;
+    }
+
+    /**
+     * Returns the distinct grams of the lower-cased words of a text, each packed into a long
+     * as three 16-bit chars.
+     *
+     * @param text Text to split.
+     * @return Distinct grams.
+     */
+    static Set<Long> gramsOf(String text) {
+        GramBuffer buffer = new GramBuffer();
+        buffer.fill(text.toLowerCase());
+        Set<Long> grams = new HashSet<>();
+        for (int i = 0; i < buffer.count; i++) {
+            grams.add(buffer.grams[i]);
+        }
+        return grams;
+    }
+
+    /**
+     * Reusable buffer holding the distinct grams of one text in sorted order, so that many texts can be
+     * split and compared without creating a set for each.
+     */
+    static class GramBuffer {
+        private long[] grams = new long[16];
+        private int count;
+
+        /**
+         * Replaces the contents with the distinct grams of the words of a text.
+         *
+         * @param lower Lower-cased text.
+         */
+        void fill(CharSequence lower) {
+            count = 0;
+            int start = -1;
+            for (int i = 0; i <= lower.length(); i++) {
+                boolean isWordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+                if (isWordChar && start < 0) {
+                    start = i;
+                } else if (!isWordChar && start >= 0) {
+                    addWord(lower, start, i);
+                    start = -1;
+                }
+            }
+            Arrays.sort(grams, 0, count);
+            int distinct = 0;
+            for (int i = 0; i < count; i++) {
+                if (distinct == 0 || grams[distinct - 1] != grams[i]) {
+                    grams[distinct++] = grams[i];
+                }
+            }
+            count = distinct;
+        }
+
+        /**
+         * Returns the number of distinct grams.
+         *
+         * @return Number of grams.
+         */
+        int count() {
+            return count;
+        }
+
+        /**
+         * Returns the number of grams found in both buffers, by merging the sorted grams.
+         *
+         * @param other Buffer to compare with.
+         * @return Number of shared grams.
+         */
+        int countShared(GramBuffer other) {
+            int shared = 0;
+            int i = 0;
+            int j = 0;
+            while (i < count && j < other.count) {
+                if (grams[i] < other.grams[j]) {
+                    i++;
+                } else if (grams[i] > other.grams[j]) {
+                    j++;
+                } else {
+                    shared++;
+                    i++;
+                    j++;
+                }
+            }
+            return shared;
+        }
+
+        /**
+         * Adds the grams of the word {@code lower[start, end)} padded with two spaces in front and one
+         * behind, without building the padded word.
+         */
+        private void addWord(CharSequence lower, int start, int end) {
+            int paddedLength = end - start + 3;
+            for (int j = 0; j + GRAM_LENGTH <= paddedLength; j++) {
+                if (count == grams.length) {
+                    grams = Arrays.copyOf(grams, count * 2);
+                }
+                grams[count++] = ((long) paddedChar(lower, start, end, j) << 32)
+                        | ((long) paddedChar(lower, start, end, j + 1) << 16)
+                        | paddedChar(lower, start, end, j + 2);
+            }
+        }
+
+        private static char paddedChar(CharSequence lower, int start, int end, int j) {
+            int i = start + j - 2;
+            return (i >= start && i < end) ? lower.charAt(i) : ' ';
+        }
+    }
+
+    /**
+     * A task with the number of distinct grams in its description.
+     */
+    private static class Entry {
+        private final Task task;
+        private final int gramCount;
+
+        Entry(Task task, int gramCount) {
+            this.task = task;
+            this.gramCount = gramCount;
+        }
+    }
+
+    /**
+     * Keeps the best matches seen so far in a heap bounded by the result limit, with the worst
+     * match on top so that it can be replaced in O(log k).
+     */
+    static class TopMatches {
+        /** Orders matches from best to worst. */
+        private static final Comparator<Match> BEST_FIRST = Comparator
+                .comparingDouble((Match m) -> -m.similarity)
+                .thenComparingInt(m -> m.gramCount)
+                .thenComparingLong(m -> m.seq);
+
+        private final int queryGramCount;
+        private final int limit;
+        private final PriorityQueue<Match> heap;
+
+        /**
+         * Creates an empty collection of matches.
+         *
+         * @param queryGramCount Number of distinct grams in the search text.
+         * @param limit Most matches to keep.
+         */
+        TopMatches(int queryGramCount, int limit) {
+            this.queryGramCount = queryGramCount;
+            this.limit = limit;
+            this.heap = new PriorityQueue<>(Math.max(1, limit), BEST_FIRST.reversed());
+        }
+
+        /**
+         * Considers a task, keeping it if it is similar enough and among the best so far.
+         *
+         * @param seq Sequence number of the task; ties are broken in favour of smaller numbers.
+         * @param sharedGrams Number of the search text's grams found in the task's description.
+         * @param gramCount Number of distinct grams in the task's description.
+         */
+        void offer(long seq, int sharedGrams, int gramCount) {
+            if (queryGramCount == 0 || limit == 0) {
+                return;
+            }
+            double similarity = (double) sharedGrams / queryGramCount;
+            if (similarity < MIN_SIMILARITY) {
+                return;
+            }
+            Match match = new Match(seq, similarity, gramCount);
+            if (heap.size() < limit) {
+                heap.add(match);
+            } else if (BEST_FIRST.compare(match, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(match);
+            }
+        }
+
+        /**
+         * Returns the sequence numbers of the kept tasks, best first.
+         *
+         * @return Sequence numbers of the best matching tasks.
+         */
+        long[] results() {
+            ArrayList<Match> matches = new ArrayList<>(heap);
+            Collections.sort(matches, BEST_FIRST);
+            long[] seqs = new long[matches.size()];
+            for (int i = 0; i < seqs.length; i++) {
+                seqs[i] = matches.get(i).seq;
+            }
+            return seqs;
+        }
+    }
+
+    /**
+     * A candidate task with its similarity to the search text.
+     */
+    private static class Match {
+        private final long seq;
+        private final double similarity;
+        private final int gramCount;
+
+        Match(long seq, double similarity, int gramCount) {
+            this.seq = seq;
+            this.similarity = similarity;
+            this.gramCount = gramCount;
+        }
+    }
+}
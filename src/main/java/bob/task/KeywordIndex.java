@@ -0,0 +1,249 @@
+package bob.task;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Inverted index from the words of task descriptions to the tasks that contain them, with a
+ * trigram index over the words so that partial words can be looked up too.
+ *
+ * <p>A word is a maximal run of letters and digits in the lower-cased description. Tasks are
+ * identified by sequence numbers that increase in list order, so every posting list is sorted
+ * and lookups return tasks in list order.
+ */
+class KeywordIndex {
+    /** Length of the n-grams used to find the words containing a partial word. */
+    private static final int GRAM_LENGTH = 3;
+
+    private final Map<Long, Task> tasksBySeq = new HashMap<>();
+    private final Map<String, Postings> postingsByWord = new HashMap<>();
+    private final Map<Long, Set<String>> wordsByGram = new HashMap<>();
+
+    /**
+     * Indexes a task. Tasks must be added in increasing sequence order.
+     *
+     * @param seq Sequence number of the task.
+     * @param task Task to index.
+     */
+    void add(long seq, Task task) {
+        tasksBySeq.put(seq, task);
+        for (String word : wordsOf(task.getDescription().toLowerCase())) {
+            Postings postings = postingsByWord.get(word);
+            if (postings == null) {
+                postings = new Postings();
+                postingsByWord.put(word, postings);
+                for (long gram : gramsOf(word)) {
+                    wordsByGram.computeIfAbsent(gram, g -> new HashSet<>()).add(word);
+                }
+            }
+            postings.add(seq);
+        }
+    }
+
+    /**
+     * Removes a task from the index.
+     *
+     * @param seq Sequence number the task was added with.
+     * @param task Task to remove.
+     */
+    void remove(long seq, Task task) {
+        tasksBySeq.remove(seq);
+        for (String word : wordsOf(task.getDescription().toLowerCase())) {
+            Postings postings = postingsByWord.get(word);
+            if (postings == null || !postings.remove(seq) || postings.size() > 0) {
+                continue;
+            }
+            postingsByWord.remove(word);
+            for (long gram : gramsOf(word)) {
+                Set<String> words = wordsByGram.get(gram);
+                words.remove(word);
+                if (words.isEmpty()) {
+                    wordsByGram.remove(gram);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the tasks whose lower-cased description contains the given keyword.
+     *
+     * @param lowerKeyword Lower-cased keyword.
+     * @return Matching tasks in list order, or null if the keyword has no letters or digits to look up,
+     *     in which case the caller has to scan the tasks.
+     */
+    ArrayList<Task> find(String lowerKeyword) {
+        List<String> pieces = wordsOf(lowerKeyword);
+        if (pieces.isEmpty()) {
+            return null;
+        }
+
+        long[] candidates = null;
+        for (String piece : pieces) {
+            long[] seqs = seqsOfWordsContaining(piece);
+            candidates = (candidates == null) ? seqs : intersect(candidates, seqs);
+            if (candidates.length == 0) {
+                break;
+            }
+        }
+
+        // A keyword that is one partial word matches exactly the tasks with a word containing it;
+        // anything else, e.g. two words or trailing punctuation, needs checking against the description
+        boolean isSingleWord = pieces.size() == 1 && pieces.get(0).length() == lowerKeyword.length();
+        ArrayList<Task> matching = new ArrayList<>(candidates.length);
+        for (long seq : candidates) {
+            Task task = tasksBySeq.get(seq);
+            if (isSingleWord || task.getDescription().toLowerCase().contains(lowerKeyword)) {
+                matching.add(task);
+            }
+        }
+        return matching;
+    }
+
+    /**
+     * Returns an upper bound on the number of tasks {@link #find} would return, without looking them up.
+     *
+     * @param lowerKeyword Lower-cased keyword.
+     * @param limit Largest estimate of interest; counting stops there.
+     * @return Estimated number of matches, at most {@code limit}, or -1 if the keyword cannot be looked up.
+     */
+    int estimate(String lowerKeyword, int limit) {
+        List<String> pieces = wordsOf(lowerKeyword);
+        if (pieces.isEmpty()) {
+            return -1;
+        }
+        int estimate = Math.min(limit, tasksBySeq.size());
+        for (String piece : pieces) {
+            if (piece.length() < GRAM_LENGTH) {
+                continue; // no gram to narrow it down
+            }
+            int count = 0;
+            for (String word : wordsSharingRarestGram(piece)) {
+                count += postingsByWord.get(word).size();
+                if (count >= estimate) {
+                    break;
+                }
+            }
+            estimate = Math.min(estimate, count);
+        }
+        return estimate;
+    }
+
+    /**
+     * Returns the sorted sequence numbers of tasks that have a word containing the given word.
+     */
+    private long[] seqsOfWordsContaining(String piece) {
+        Iterable<String> words;
+        if (piece.length() < GRAM_LENGTH) {
+            words = postingsByWord.keySet(); // too short for a gram -> scan the vocabulary
+        } else {
+            words = wordsSharingRarestGram(piece);
+        }
+
+        List<Postings> matches = new ArrayList<>();
+        int total = 0;
+        for (String word : words) {
+            if (word.contains(piece)) {
+                Postings postings = postingsByWord.get(word);
+                matches.add(postings);
+                total += postings.size();
+            }
+        }
+        if (matches.size() == 1) {
+            return matches.get(0).toArray();
+        }
+
+        long[] union = new long[total];
+        int size = 0;
+        for (Postings postings : matches) {
+            postings.copyTo(union, size);
+            size += postings.size();
+        }
+        Arrays.sort(union);
+        return dedupe(union);
+    }
+
+    /**
+     * Returns the words containing the piece's least common gram, a superset of the words containing
+     * the piece itself.
+     */
+    private Set<String> wordsSharingRarestGram(String piece) {
+        Set<String> rarest = null;
+        for (long gram : gramsOf(piece)) {
+            Set<String> words = wordsByGram.get(gram);
+            if (words == null) {
+                return Set.of();
+            }
+            if (rarest == null || words.size() < rarest.size()) {
+                rarest = words;
+            }
+        }
+        return rarest;
+    }
+
+    /**
+     * Splits lower-cased text into its distinct words, in order of first appearance.
+     */
+    private static List<String> wordsOf(String text) {
+        List<String> words = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean isWordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (isWordChar && start < 0) {
+                start = i;
+            } else if (!isWordChar && start >= 0) {
+                String word = text.substring(start, i);
+                if (seen.add(word)) {
+                    words.add(word);
+                }
+                start = -1;
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Returns the distinct grams of a word, each packed into a long as three 16-bit chars.
+     */
+    private static Set<Long> gramsOf(String word) {
+        Set<Long> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= word.length(); i++) {
+            grams.add(((long) word.charAt(i) << 32) | ((long) word.charAt(i + 1) << 16) | word.charAt(i + 2));
+        }
+        return grams;
+    }
+
+    private static long[] intersect(long[] a, long[] b) {
+        long[] result = new long[Math.min(a.length, b.length)];
+        int size = 0;
+        int i = 0;
+        int j = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                result[size++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    private static long[] dedupe(long[] sorted) {
+        int size = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (size == 0 || sorted[size - 1] != sorted[i]) {
+                sorted[size++] = sorted[i];
+            }
+        }
+        return Arrays.copyOf(sorted, size);
+    }
+}
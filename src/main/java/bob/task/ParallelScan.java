@@ -0,0 +1,109 @@
+package bob.task;
+
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+
+/**
+ * Collects the tasks at the positions that match a predicate, splitting long ranges across the
+ * common {@link ForkJoinPool}. Results are always in position order.
+ *
+ * <p>Below the threshold the scan runs on the calling thread, since handing work to other threads
+ * costs more than checking a few thousand tasks. {@code ParallelScanBenchmark} measures where the
+ * parallel scan starts to win; the default threshold is an estimate of that point that has not yet
+ * been measured on a multi-core machine. Single-core machines always scan sequentially.
+ */
+class ParallelScan {
+    /**
+     * Fewest positions worth scanning in parallel. This is an unverified estimate: on one core a
+     * sequential scan of this many columnar tasks took about 34 microseconds, which is assumed to
+     * be close to the cost of waking the pool's workers and joining their results. Rerun
+     * {@code ParallelScanBenchmark} on a multi-core machine before relying on it. The threshold gives
+     * eight leaves, so a pool of up to eight workers has work for each.
+     */
+    static final int DEFAULT_THRESHOLD = 1 << 15;
+    /**
+     * Positions each fork-join task scans on its own instead of splitting further. A leaf took about
+     * 7.5 microseconds to scan on one core, assumed to be well above the cost of forking and joining
+     * one task, so splitting further should add overhead without adding useful parallelism.
+     */
+    private static final int LEAF_SIZE = 1 << 12;
+
+    private ParallelScan() {
+    }
+
+    /**
+     * Returns the tasks at the matching positions in {@code [0, count)}, in order.
+     *
+     * @param count Number of positions to scan.
+     * @param threshold Fewest positions to scan in parallel.
+     * @param matches Whether the position holds a task that should be returned.
+     * @param taskAt Task at a matching position.
+     * @return Matching tasks in position order.
+     */
+    static ArrayList<Task> collect(int count, int threshold, IntPredicate matches, IntFunction<Task> taskAt) {
+        if (count < threshold || ForkJoinPool.getCommonPoolParallelism() < 2) {
+            return scan(0, count, matches, taskAt);
+        }
+        return collectInParallel(ForkJoinPool.commonPool(), count, matches, taskAt);
+    }
+
+    /**
+     * Returns the tasks at the matching positions in {@code [0, count)}, in order, using the given pool
+     * whatever the number of positions.
+     *
+     * @param pool Pool to run the scan in.
+     * @param count Number of positions to scan.
+     * @param matches Whether the position holds a task that should be returned.
+     * @param taskAt Task at a matching position.
+     * @return Matching tasks in position order.
+     */
+    static ArrayList<Task> collectInParallel(ForkJoinPool pool, int count, IntPredicate matches,
+            IntFunction<Task> taskAt) {
+        return pool.invoke(new ScanTask(0, count, matches, taskAt));
+    }
+
+    private static ArrayList<Task> scan(int from, int to, IntPredicate matches, IntFunction<Task> taskAt) {
+        ArrayList<Task> matching = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            if (matches.test(i)) {
+                matching.add(taskAt.apply(i));
+            }
+        }
+        return matching;
+    }
+
+    /**
+     * Scans a range of positions, splitting it in halves until they are small enough.
+     */
+    @SuppressWarnings("serial") // never serialized
+    private static class ScanTask extends RecursiveTask<ArrayList<Task>> {
+        private final int from;
+        private final int to;
+        private final IntPredicate matches;
+        private final IntFunction<Task> taskAt;
+
+        ScanTask(int from, int to, IntPredicate matches, IntFunction<Task> taskAt) {
+            this.from = from;
+            this.to = to;
+            this.matches = matches;
+            this.taskAt = taskAt;
+        }
+
+        @Override
+        protected ArrayList<Task> compute() {
+            if (to - from <= LEAF_SIZE) {
+                return scan(from, to, matches, taskAt);
+            }
+            int middle = (from + to) >>> 1;
+            ScanTask left = new ScanTask(from, middle, matches, taskAt);
+            left.fork();
+            ArrayList<Task> right = new ScanTask(middle, to, matches, taskAt).compute();
+            ArrayList<Task> matching = left.join();
+            matching.addAll(right);
+            return matching;
+        }
+    }
+}
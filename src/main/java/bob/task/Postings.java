@@ -0,0 +1,139 @@
+package bob.task;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.function.LongConsumer;
+
+/**
+ * Sorted sequence numbers of the tasks that share one index key, such as a word or a trigram.
+ *
+ * <p>Removing a task only marks its entry as dead, so that a removal does not shift every later entry
+ * of a long list. Reads skip dead entries, and the entries are compacted once the dead ones outnumber
+ * the live ones, which keeps removals O(log n) amortized. Only {@link #add} and {@link #remove} change
+ * the list, so concurrent reads are safe while nothing is added or removed.
+ */
+class Postings {
+    private long[] seqs = new long[2];
+    /** Number of entries in use, including dead ones. */
+    private int count;
+    /** Positions of the dead entries, or null if there are none. */
+    private BitSet dead;
+    private int deadCount;
+
+    /**
+     * Adds a task. Tasks must be added in increasing sequence order.
+     *
+     * @param seq Sequence number of the task.
+     */
+    void add(long seq) {
+        assert count == 0 || seqs[count - 1] < seq : "tasks must be added in sequence order";
+        if (count == seqs.length) {
+            if (deadCount > 0) {
+                compact();
+            }
+            if (count == seqs.length) {
+                seqs = Arrays.copyOf(seqs, count * 2);
+            }
+        }
+        seqs[count++] = seq;
+    }
+
+    /**
+     * Removes a task by marking its entry as dead.
+     *
+     * @param seq Sequence number of the task.
+     * @return True if the task was present.
+     */
+    boolean remove(long seq) {
+        int i = Arrays.binarySearch(seqs, 0, count, seq);
+        if (i < 0 || isDead(i)) {
+            return false;
+        }
+        if (dead == null) {
+            dead = new BitSet();
+        }
+        dead.set(i);
+        deadCount++;
+        if (deadCount > count - deadCount) {
+            compact();
+        }
+        return true;
+    }
+
+    /**
+     * Returns whether a task is present, by binary search.
+     *
+     * @param seq Sequence number of the task.
+     * @return True if the task is present.
+     */
+    boolean contains(long seq) {
+        int i = Arrays.binarySearch(seqs, 0, count, seq);
+        return i >= 0 && !isDead(i);
+    }
+
+    /**
+     * Returns the number of tasks present.
+     *
+     * @return Number of live entries.
+     */
+    int size() {
+        return count - deadCount;
+    }
+
+    /**
+     * Passes the sequence number of every task present to the action, in order.
+     *
+     * @param action Action to run for each sequence number.
+     */
+    void forEach(LongConsumer action) {
+        for (int i = 0; i < count; i++) {
+            if (!isDead(i)) {
+                action.accept(seqs[i]);
+            }
+        }
+    }
+
+    /**
+     * Copies the sequence numbers, in order, into an array at the given offset.
+     */
+    void copyTo(long[] dest, int offset) {
+        if (deadCount == 0) {
+            System.arraycopy(seqs, 0, dest, offset, count);
+            return;
+        }
+        int next = offset;
+        for (int i = 0; i < count; i++) {
+            if (!isDead(i)) {
+                dest[next++] = seqs[i];
+            }
+        }
+    }
+
+    long[] toArray() {
+        long[] live = new long[size()];
+        copyTo(live, 0);
+        return live;
+    }
+
+    private boolean isDead(int i) {
+        return dead != null && dead.get(i);
+    }
+
+    /**
+     * Drops the dead entries, shrinking the array once it is mostly unused.
+     */
+    private void compact() {
+        int live = 0;
+        for (int i = 0; i < count; i++) {
+            if (!dead.get(i)) {
+                seqs[live++] = seqs[i];
+            }
+        }
+        count = live;
+        dead = null;
+        deadCount = 0;
+        if (seqs.length > 2 && count < seqs.length / 4) {
+            seqs = Arrays.copyOf(seqs, Math.max(2, count * 2));
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package bob.task;
+
+import java.util.function.IntPredicate;
+
+/**
+ * Fenwick tree over a fixed number of slots, each holding a task (1) or a tombstone (0).
+ * Converts between a task's 0-based position in the list and its slot in O(log n).
+ */
+class RankTree {
+    /** 1-based tree; {@code tree[i]} counts the tasks in the slots {@code (i - lowbit(i), i]}. */
+    private final int[] tree;
+
+    /**
+     * Builds a tree over the given slots in O(n).
+     *
+     * @param slots Slots, where null marks a tombstone.
+     * @param capacity Number of slots the tree covers; slots past the end of the array count as empty.
+     */
+    RankTree(Task[] slots, int capacity) {
+        this(capacity, slot -> slot < slots.length && slots[slot] != null);
+    }
+
+    /**
+     * Builds a tree over slots described by a predicate in O(n).
+     *
+     * @param capacity Number of slots the tree covers.
+     * @param holdsTask Whether a 0-based slot holds a task rather than a tombstone or nothing.
+     */
+    RankTree(int capacity, IntPredicate holdsTask) {
+        tree = new int[capacity + 1];
+        for (int i = 1; i <= capacity; i++) {
+            if (holdsTask.test(i - 1)) {
+                tree[i]++;
+            }
+            int parent = i + (i & -i);
+            if (parent <= capacity) {
+                tree[parent] += tree[i];
+            }
+        }
+    }
+
+    /**
+     * Returns the number of slots covered by this tree.
+     *
+     * @return Slot capacity.
+     */
+    int capacity() {
+        return tree.length - 1;
+    }
+
+    /**
+     * Adds a delta to the count of one slot.
+     *
+     * @param slot 0-based slot.
+     * @param delta 1 when a task is placed in the slot, -1 when it becomes a tombstone.
+     */
+    void add(int slot, int delta) {
+        for (int i = slot + 1; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    /**
+     * Returns the slot holding the task at the given position.
+     *
+     * @param rank 0-based position of a task; must be less than the number of tasks.
+     * @return 0-based slot of that task.
+     */
+    int select(int rank) {
+        int slot = 0;
+        int remaining = rank + 1;
+        for (int step = Integer.highestOneBit(capacity()); step > 0; step >>= 1) {
+            int next = slot + step;
+            if (next < tree.length && tree[next] < remaining) {
+                slot = next;
+                remaining -= tree[next];
+            }
+        }
+        return slot;
+    }
+}
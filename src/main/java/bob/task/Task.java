@@ -20,8 +20,15 @@ public class Task {
         }
     }
 
+    /** Id of a task that has not been assigned one yet. */
+    public static final long NO_ID = 0;
+
     protected String description;
-    protected Status status;
+    protected volatile Status status;
+    /** Persisted identity of this task, unique within its list and increasing along it. */
+    private volatile long id = NO_ID;
+    /** Incremented on every change, so that storage can tell which tasks need re-encoding. */
+    private volatile int version;
 
     /**
      * Creates a new task with the given description.
@@ -37,14 +44,14 @@ public class Task {
      * Marks this task as done.
      */
     public void markDone() {
-        this.status = Status.DONE;
+        setStatus(Status.DONE);
     }
 
     /**
      * Marks this task as not done.
      */
     public void markNotDone() {
-        this.status = Status.NOT_DONE;
+        setStatus(Status.NOT_DONE);
     }
 
     /**
@@ -62,7 +69,41 @@ public class Task {
      * @param status New status to set.
      */
     public void setStatus(Status status) {
-        this.status = status;
+        if (this.status != status) {
+            this.status = status;
+            version++;
+        }
+    }
+
+    /**
+     * Returns the stable id of this task.
+     *
+     * @return Task id, or {@link #NO_ID} if none has been assigned yet.
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Sets the stable id of this task.
+     *
+     * @param id Positive task id.
+     */
+    public void setId(long id) {
+        assert id > NO_ID : "id must be positive";
+        if (this.id != id) {
+            this.id = id;
+            version++;
+        }
+    }
+
+    /**
+     * Returns a counter that changes whenever this task is modified.
+     *
+     * @return Current version of this task.
+     */
+    public int getVersion() {
+        return version;
     }
 
     /**
@@ -83,8 +124,19 @@ public class Task {
         return status.icon;
     }
 
+    /**
+     * Appends the display form of this task to the buffer, as {@link #toString()} returns it.
+     * Rendering many tasks into one buffer avoids a temporary string per task.
+     *
+     * @param sb Buffer to append to.
+     * @return The same buffer, for chaining.
+     */
+    public StringBuilder appendTo(StringBuilder sb) {
+        return sb.append('[').append(statusIcon()).append("] ").append(description);
+    }
+
     @Override
     public String toString() {
-        return "[" + statusIcon() + "] " + description;
+        return appendTo(new StringBuilder()).toString();
     }
 }
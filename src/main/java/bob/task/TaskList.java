@@ -1,35 +1,71 @@
 package bob.task;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.stream.Collectors;
-
-import bob.tasktype.Deadline;
-import bob.tasktype.Event;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
 
 /**
  * Encapsulates a list of tasks and provides operations to manage them.
+ * Descriptions and dates are indexed as tasks are added and removed, so that keyword and date searches
+ * do not scan the list.
+ *
+ * <p>Every task gets a stable id when it is added; ids increase along the list. Tasks are kept in an
+ * array of slots in list order. Removing a task leaves a tombstone in its slot instead of shifting the
+ * later tasks, and the slots are compacted once tombstones outnumber tasks. A {@link RankTree} maps the
+ * 0-based positions that users see to slots.
  */
-public class TaskList {
-    private ArrayList<Task> tasks;
+public class TaskList extends AbstractTaskList {
+    /** Fewest tombstones worth compacting the slots for. */
+    private static final int MIN_TOMBSTONES_TO_COMPACT = 64;
+    private static final int INITIAL_CAPACITY = 16;
+
+    /** Tasks in list order; removed tasks leave null tombstones until the slots are compacted. */
+    private Task[] slots;
+    /** Number of slots in use, including tombstones. */
+    private int slotCount;
+    private int size;
+    private RankTree ranks;
+    private long nextId = Task.NO_ID + 1;
+    private final KeywordIndex keywordIndex = new KeywordIndex();
+    private final FuzzyIndex fuzzyIndex = new FuzzyIndex();
+    private final DateIndex dateIndex = new DateIndex();
+    private final List<Task> view = new TaskView();
+    private Duration urgentWindow = DEFAULT_URGENT_WINDOW;
+    /** Number of changes made through this list, so that callers can tell when cached results are stale. */
+    private int modCount;
 
     /**
      * Creates an empty TaskList.
      */
     public TaskList() {
-        this.tasks = new ArrayList<>();
+        this(new ArrayList<>());
     }
 
     /**
      * Creates a TaskList with the given list of tasks.
+     * Tasks without an id, or whose id does not increase along the list, are given a new id.
      *
      * @param tasks List of tasks to initialize with.
      */
     public TaskList(ArrayList<Task> tasks) {
         assert tasks != null : "tasks list must not be null";
-        this.tasks = tasks;
+        assignIds(tasks);
+        slots = tasks.toArray(new Task[Math.max(INITIAL_CAPACITY, tasks.size())]);
+        slotCount = tasks.size();
+        size = tasks.size();
+        ranks = new RankTree(slots, slots.length);
+        for (Task task : tasks) {
+            index(task);
+        }
+        if (!tasks.isEmpty()) {
+            nextId = tasks.get(tasks.size() - 1).getId() + 1;
+        }
     }
 
     /**
@@ -38,40 +74,58 @@ public class TaskList {
      * @param initialTasks Tasks to initialize with.
      */
     public TaskList(Task... initialTasks) {
-        this.tasks = new ArrayList<>(Arrays.asList(initialTasks));
+        this(new ArrayList<>(Arrays.asList(initialTasks)));
     }
 
     /**
-     * Adds a task to the list.
+     * Adds a task to the end of the list, giving it the next id if it has none.
      *
      * @param task Task to add.
      */
+    @Override
     public void add(Task task) {
         assert task != null : "task must not be null";
-        tasks.add(task);
-    }
+        if (task.getId() == Task.NO_ID) {
+            task.setId(nextId);
+        }
+        assert task.getId() >= nextId : "task ids must increase along the list";
+        nextId = task.getId() + 1;
 
-    /**
-     * Adds multiple tasks to the list.
-     *
-     * @param tasks Tasks to add.
-     */
-    public void add(Task... tasks) {
-        assert tasks != null : "tasks array must not be null";
-        for (Task t : tasks) {
-            this.tasks.add(t);
+        if (slotCount == slots.length) {
+            resizeSlots();
         }
+        slots[slotCount] = task;
+        ranks.add(slotCount, 1);
+        slotCount++;
+        size++;
+        index(task);
+        modCount++;
     }
 
     /**
      * Removes and returns the task at the specified index.
+     * The task's slot becomes a tombstone, so later tasks do not move.
      *
      * @param index Index of the task to remove.
      * @return The removed task.
      */
+    @Override
     public Task remove(int index) {
-        assert isValidIndex(index) : "index must be valid (0 to size-1)";
-        return tasks.remove(index);
+        assert isInRange(index) : "index must be valid (0 to size-1)";
+        int slot = ranks.select(index);
+        Task removed = slots[slot];
+        slots[slot] = null;
+        ranks.add(slot, -1);
+        size--;
+        keywordIndex.remove(removed.getId(), removed);
+        fuzzyIndex.remove(removed.getId(), removed);
+        dateIndex.remove(removed.getId(), removed);
+        int tombstones = slotCount - size;
+        if (tombstones >= MIN_TOMBSTONES_TO_COMPACT && tombstones > size) {
+            compactSlots(slots.length);
+        }
+        modCount++;
+        return removed;
     }
 
     /**
@@ -80,9 +134,41 @@ public class TaskList {
      * @param index Index of the task to retrieve.
      * @return The task at the specified index.
      */
+    @Override
     public Task get(int index) {
-        assert isValidIndex(index) : "index must be valid (0 to size-1)";
-        return tasks.get(index);
+        assert isInRange(index) : "index must be valid (0 to size-1)";
+        return taskAt(index);
+    }
+
+    /**
+     * Sets the completion status of the task at the specified index.
+     * Status changes must go through this method so that the urgent deadlines stay up to date.
+     *
+     * @param index Index of the task to update.
+     * @param status New status to set.
+     * @return The updated task.
+     */
+    @Override
+    public Task setStatus(int index, Task.Status status) {
+        assert isInRange(index) : "index must be valid (0 to size-1)";
+        Task task = taskAt(index);
+        if (task.getStatus() != status) {
+            task.setStatus(status);
+            dateIndex.updateStatus(task.getId(), task);
+            modCount++;
+        }
+        return task;
+    }
+
+    /**
+     * Returns a counter that changes whenever a task is added, removed or updated through this list,
+     * or the urgent window changes.
+     *
+     * @return Current modification count.
+     */
+    @Override
+    public int getModCount() {
+        return modCount;
     }
 
     /**
@@ -90,8 +176,9 @@ public class TaskList {
      *
      * @return Number of tasks.
      */
+    @Override
     public int size() {
-        return tasks.size();
+        return size;
     }
 
     /**
@@ -100,18 +187,20 @@ public class TaskList {
      * @param index Index to check.
      * @return True if the index is valid, false otherwise.
      */
+    @Override
     public boolean isValidIndex(int index) {
-        return index >= 0 && index < tasks.size();
+        return isInRange(index);
     }
 
     /**
-     * Returns all tasks as an ArrayList.
+     * Returns all tasks as a read-only view that follows later changes to this list.
      * This method is provided for compatibility with Storage and Ui classes.
      *
-     * @return ArrayList containing all tasks.
+     * @return List containing all tasks, in order.
      */
-    public ArrayList<Task> getAllTasks() {
-        return tasks;
+    @Override
+    public List<Task> getAllTasks() {
+        return view;
     }
 
     /**
@@ -120,68 +209,220 @@ public class TaskList {
      * @param keyword Keyword to search for in task descriptions.
      * @return ArrayList of matching tasks.
      */
+    @Override
     public ArrayList<Task> findTasksByKeyword(String keyword) {
         assert keyword != null : "keyword must not be null";
         String lowerKeyword = keyword.toLowerCase();
-        return new ArrayList<>(tasks.stream()
-                .filter(t -> t.getDescription().toLowerCase().contains(lowerKeyword))
-                .collect(Collectors.toList()));
+        ArrayList<Task> indexed = keywordIndex.find(lowerKeyword);
+        if (indexed != null) {
+            return indexed;
+        }
+        // No letters or digits to look up, e.g. "" or "!" -> check every description
+        Task[] current = slots;
+        return ParallelScan.collect(slotCount, ParallelScan.DEFAULT_THRESHOLD,
+                i -> current[i] != null && current[i].getDescription().toLowerCase().contains(lowerKeyword),
+                i -> current[i]);
     }
 
     /**
-     * Returns tasks with deadlines due within the next 3 days.
+     * Returns the tasks whose descriptions are most similar to the text, tolerating typos.
+     * Similarity is the fraction of the text's trigrams found in a description.
      *
-     * @return List of urgent deadline tasks.
+     * @param text Text to search for.
+     * @param limit Most tasks to return.
+     * @return Up to {@code limit} similar tasks, most similar first.
      */
-    public ArrayList<Task> getUrgentTasks() {
-        LocalDateTime now = LocalDateTime.now();
-        LocalDateTime threeDaysLater = now.plusDays(3);
-        ArrayList<Task> urgent = new ArrayList<>();
-        for (Task t : tasks) {
-            if (t instanceof Deadline && t.getStatus() != Task.Status.DONE) {
-                Deadline d = (Deadline) t;
-                LocalDateTime by = d.getBy();
-                if (!by.isBefore(now) && by.isBefore(threeDaysLater)) {
-                    urgent.add(t);
-                }
-            }
-        }
-        return urgent;
+    @Override
+    public ArrayList<Task> findTasksFuzzy(String text, int limit) {
+        assert text != null : "text must not be null";
+        assert limit >= 0 : "limit must not be negative";
+        return fuzzyIndex.find(text, limit);
+    }
+
+    /**
+     * Returns deadlines that are not done and are due within the urgent window from the given time.
+     *
+     * @param now Start of the urgent window.
+     * @return List of urgent deadline tasks, in list order.
+     */
+    @Override
+    public ArrayList<Task> getUrgentTasks(LocalDateTime now) {
+        assert now != null : "now must not be null";
+        return dateIndex.findPendingDeadlines(now, now.plus(urgentWindow));
+    }
+
+    /**
+     * Sets how far ahead a deadline has to be due to count as urgent.
+     *
+     * @param urgentWindow Length of the urgent window.
+     */
+    @Override
+    public void setUrgentWindow(Duration urgentWindow) {
+        assert urgentWindow != null && !urgentWindow.isNegative() : "urgentWindow must not be negative";
+        this.urgentWindow = urgentWindow;
+        modCount++;
+    }
+
+    /**
+     * Returns tasks that occur between the given dates, both inclusive.
+     * Includes deadlines due on any of those days and events overlapping any of them.
+     *
+     * @param from First day of the range.
+     * @param to Last day of the range.
+     * @return List of matching tasks, in list order.
+     */
+    @Override
+    public ArrayList<Task> getTasksBetween(LocalDate from, LocalDate to) {
+        assert from != null && to != null : "dates must not be null";
+        assert !to.isBefore(from) : "range must not end before it starts";
+        return dateIndex.find(from.atStartOfDay(), to.plusDays(1).atStartOfDay());
+    }
+
+    /**
+     * Returns deadlines that are not done and are due between the given dates, both inclusive.
+     *
+     * @param from First day of the range.
+     * @param to Last day of the range.
+     * @return List of matching deadlines, in list order.
+     */
+    @Override
+    public ArrayList<Task> getPendingDeadlinesBetween(LocalDate from, LocalDate to) {
+        assert from != null && to != null : "dates must not be null";
+        assert !to.isBefore(from) : "range must not end before it starts";
+        return dateIndex.findPendingDeadlines(from.atStartOfDay(), to.plusDays(1).atStartOfDay());
     }
 
     /**
-     * Returns tasks that occur on the given date.
-     * Includes deadlines due on that date and events overlapping that day.
+     * Returns an upper bound on the number of tasks {@link #findTasksByKeyword} would return,
+     * cheaply enough to decide whether to look the keyword up.
      *
-     * @param date The date to filter by.
-     * @return List of matching tasks.
+     * @param keyword Keyword to search for.
+     * @param limit Largest estimate of interest; counting stops there.
+     * @return Estimated number of matches, at most {@code limit}; {@code limit} if the keyword cannot be
+     *     looked up in an index.
      */
-    public ArrayList<Task> getTasksOnDate(LocalDate date) {
-        assert date != null : "date must not be null";
-        LocalDateTime startOfDay = date.atStartOfDay();
-        LocalDateTime endOfDay = date.plusDays(1).atStartOfDay().minusNanos(1);
+    @Override
+    public int estimateKeywordMatches(String keyword, int limit) {
+        assert keyword != null : "keyword must not be null";
+        int estimate = keywordIndex.estimate(keyword.toLowerCase(), limit);
+        return (estimate < 0) ? limit : estimate;
+    }
+
+    /**
+     * Returns an upper bound on the number of tasks {@link #getTasksBetween} would return.
+     *
+     * @param from First day of the range.
+     * @param to Last day of the range.
+     * @param limit Largest estimate of interest; counting stops there.
+     * @return Estimated number of matches, at most {@code limit}.
+     */
+    @Override
+    public int estimateTasksBetween(LocalDate from, LocalDate to, int limit) {
+        assert from != null && to != null : "dates must not be null";
+        return dateIndex.estimate(from.atStartOfDay(), to.plusDays(1).atStartOfDay(), limit);
+    }
 
-        ArrayList<Task> matching = new ArrayList<>();
-        for (Task t : tasks) {
-            if (isTaskOnDate(t, date, startOfDay, endOfDay)) {
-                matching.add(t);
+    /**
+     * Returns the number of tasks {@link #getPendingDeadlinesBetween} would return.
+     *
+     * @param from First day of the range.
+     * @param to Last day of the range.
+     * @param limit Largest count of interest; counting stops there.
+     * @return Number of matches, at most {@code limit}.
+     */
+    @Override
+    public int estimatePendingDeadlinesBetween(LocalDate from, LocalDate to, int limit) {
+        assert from != null && to != null : "dates must not be null";
+        return dateIndex.countPendingDeadlines(from.atStartOfDay(), to.plusDays(1).atStartOfDay(), limit);
+    }
+
+    // Public methods with logic of their own call these helpers rather than other public methods,
+    // so that a subclass can wrap each public method in a non-reentrant lock
+    private boolean isInRange(int index) {
+        return index >= 0 && index < size;
+    }
+
+    private Task taskAt(int index) {
+        return slots[ranks.select(index)];
+    }
+
+    private void index(Task task) {
+        keywordIndex.add(task.getId(), task);
+        fuzzyIndex.add(task.getId(), task);
+        dateIndex.add(task.getId(), task);
+    }
+
+    /**
+     * Makes room for another slot: drops the tombstones if they take up a quarter of the slots,
+     * and doubles the capacity otherwise.
+     */
+    private void resizeSlots() {
+        boolean hasManyTombstones = slotCount - size >= slots.length / 4;
+        compactSlots(hasManyTombstones ? slots.length : slots.length * 2);
+    }
+
+    /**
+     * Moves every task to the front of a slot array of the given capacity, dropping the tombstones.
+     */
+    private void compactSlots(int capacity) {
+        Task[] compacted = new Task[capacity];
+        int count = 0;
+        for (int i = 0; i < slotCount; i++) {
+            if (slots[i] != null) {
+                compacted[count++] = slots[i];
             }
         }
-        return matching;
+        slots = compacted;
+        slotCount = count;
+        ranks = new RankTree(slots, capacity);
     }
 
-    private boolean isTaskOnDate(Task task, LocalDate date,
-            LocalDateTime startOfDay, LocalDateTime endOfDay) {
-        if (task instanceof Deadline) {
-            Deadline d = (Deadline) task;
-            return d.getBy().toLocalDate().equals(date);
+    /**
+     * Read-only view of the tasks in list order. Iteration walks the slots directly;
+     * positional access goes through the rank tree.
+     */
+    private class TaskView extends AbstractList<Task> {
+        @Override
+        public Task get(int index) {
+            if (!isInRange(index)) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+            return taskAt(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Iterator<Task> iterator() {
+            return new Iterator<>() {
+                private int slot = nextLiveSlot(0);
+
+                @Override
+                public boolean hasNext() {
+                    return slot < slotCount;
+                }
+
+                @Override
+                public Task next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    Task task = slots[slot];
+                    slot = nextLiveSlot(slot + 1);
+                    return task;
+                }
+            };
         }
-        if (task instanceof Event) {
-            Event e = (Event) task;
-            boolean endsOnOrAfterStart = !e.getTo().isBefore(startOfDay);
-            boolean startsOnOrBeforeEnd = !e.getFrom().isAfter(endOfDay);
-            return endsOnOrAfterStart && startsOnOrBeforeEnd;
+
+        private int nextLiveSlot(int from) {
+            int slot = from;
+            while (slot < slotCount && slots[slot] == null) {
+                slot++;
+            }
+            return slot;
         }
-        return false;
     }
 }
@@ -10,6 +10,11 @@ import bob.util.DateTimeUtil;
  */
 public class Deadline extends Task {
     private LocalDateTime by;
+    /**
+     * Display form of {@link #by}, formatted on first render. Threads rendering at the same time may
+     * each format it, which is harmless as the result is the same immutable string.
+     */
+    private String byText;
 
     /**
      * Creates a new deadline task with the given description and deadline time.
@@ -32,8 +37,12 @@ public class Deadline extends Task {
     }
 
     @Override
-    public String toString() {
-        return "[D]" + "[" + statusIcon() + "] " + getDescription()
-                + " (by: " + DateTimeUtil.formatForDisplay(getBy()) + ")";
+    public StringBuilder appendTo(StringBuilder sb) {
+        String text = byText;
+        if (text == null) {
+            text = DateTimeUtil.formatForDisplay(by);
+            byText = text;
+        }
+        return super.appendTo(sb.append("[D]")).append(" (by: ").append(text).append(')');
     }
 }
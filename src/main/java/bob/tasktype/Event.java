@@ -11,6 +11,8 @@ import bob.util.DateTimeUtil;
 public class Event extends Task {
     private LocalDateTime from;
     private LocalDateTime to;
+    /** Display form of {@link #from} and {@link #to}, formatted on first render like Deadline's. */
+    private String fromToText;
 
     /**
      * Creates a new event task with the given description, start time, and end time.
@@ -44,9 +46,12 @@ public class Event extends Task {
     }
 
     @Override
-    public String toString() {
-        return "[E]" + "[" + statusIcon() + "] " + getDescription()
-                + " (from: " + DateTimeUtil.formatForDisplay(getFrom())
-                + " to: " + DateTimeUtil.formatForDisplay(getTo()) + ")";
+    public StringBuilder appendTo(StringBuilder sb) {
+        String text = fromToText;
+        if (text == null) {
+            text = " (from: " + DateTimeUtil.formatForDisplay(from) + " to: " + DateTimeUtil.formatForDisplay(to) + ")";
+            fromToText = text;
+        }
+        return super.appendTo(sb.append("[E]")).append(text);
     }
 }
@@ -16,7 +16,7 @@ public class Todo extends Task {
     }
 
     @Override
-    public String toString() {
-        return "[T]" + "[" + statusIcon() + "] " + description;
+    public StringBuilder appendTo(StringBuilder sb) {
+        return super.appendTo(sb.append("[T]"));
     }
 }
@@ -1,49 +1,100 @@
 package bob.ui;
 
-import java.util.ArrayList;
-import java.util.Scanner;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.time.LocalDate;
+import java.util.List;
 
 import bob.task.Task;
 import bob.util.DateTimeUtil;
 
 /**
  * Handles user interface interactions for the Bob chatbot.
+ *
+ * <p>Output goes through a large buffer that is flushed once per message, so that a long task list is
+ * written in a few large chunks instead of one system call per line. In piped mode, for input piped in
+ * rather than typed, the buffer is only flushed once all the input read so far has been handled, so a
+ * script is answered in as few writes as the buffer allows. Piped mode is chosen by the caller: a
+ * missing console does not tell a pipe apart from an IDE or build tool running Bob interactively.
  */
 public class Ui {
     private static final String LINE = "____________________________________________________________";
-    private Scanner scanner;
+    private static final int OUTPUT_BUFFER_SIZE = 1 << 16;
+    /** Size at which rendered task lines are handed to the output buffer. */
+    private static final int RENDER_CHUNK_SIZE = 1 << 13;
+    private static final int INPUT_BUFFER_SIZE = 1 << 16;
+    private final BufferedReader in;
+    private final PrintWriter out;
+    private final boolean isPiped;
 
     /**
-     * Creates a new Ui instance.
+     * Creates a new Ui instance for a user typing commands.
      */
     public Ui() {
-        this.scanner = new Scanner(System.in);
+        this(false);
+    }
+
+    /**
+     * Creates a new Ui instance.
+     *
+     * @param isPiped Whether input is read from a pipe or file rather than typed by the user.
+     */
+    public Ui(boolean isPiped) {
+        this.isPiped = isPiped;
+        this.in = new BufferedReader(new InputStreamReader(System.in), INPUT_BUFFER_SIZE);
+        this.out = new PrintWriter(new BufferedWriter(new OutputStreamWriter(System.out), OUTPUT_BUFFER_SIZE));
+    }
+
+    /**
+     * Returns whether input is read from a pipe or file rather than typed by the user.
+     *
+     * @return True in piped mode.
+     */
+    public boolean isPiped() {
+        return isPiped;
     }
 
     /**
      * Shows the welcome message.
      */
     public void showWelcome() {
-        showLine();
-        System.out.println("Hello! I'm Bob");
-        System.out.println("What can I do for you?");
+        startMessage();
+        out.println("Hello! I'm Bob");
+        out.println("What can I do for you?");
         showLine();
     }
 
     /**
-     * Shows a divider line.
+     * Shows a divider line, writing out everything shown before it unless in piped mode.
      */
     public void showLine() {
-        System.out.println(LINE);
+        out.println(LINE);
+        if (!isPiped) {
+            out.flush();
+        }
     }
 
     /**
-     * Reads a command from the user.
+     * Reads a command from the user. In piped mode, output is written out first if no more input
+     * is waiting, as the next read may block.
      *
-     * @return User input as a trimmed string.
+     * @return User input as a trimmed string, or null at the end of the input.
      */
     public String readCommand() {
-        return scanner.nextLine().trim();
+        try {
+            if (isPiped && !in.ready()) {
+                out.flush();
+            }
+            String line = in.readLine();
+            return (line != null) ? line.trim() : null;
+        } catch (IOException e) {
+            showError("Could not read input: " + e.getMessage());
+            return null;
+        }
     }
 
     /**
@@ -52,8 +103,8 @@ public class Ui {
      * @param message Message to display.
      */
     public void showMessage(String message) {
-        showLine();
-        System.out.println(message);
+        startMessage();
+        out.println(message);
         showLine();
     }
 
@@ -71,12 +122,25 @@ public class Ui {
      *
      * @param tasks List of tasks to display.
      */
-    public void showTaskList(ArrayList<Task> tasks) {
+    public void showTaskList(List<Task> tasks) {
+        startMessage();
+        out.println("Here are the tasks in your list:");
+        printNumbered(tasks, 1);
         showLine();
-        System.out.println("Here are the tasks in your list:");
-        for (int i = 0; i < tasks.size(); i++) {
-            System.out.println((i + 1) + "." + tasks.get(i));
-        }
+    }
+
+    /**
+     * Shows part of the task list, numbered by position in the whole list.
+     *
+     * @param firstNumber Number of the first task shown (1-based).
+     * @param total Number of tasks in the whole list.
+     * @param tasks Tasks to display.
+     */
+    public void showTaskRange(int firstNumber, int total, List<Task> tasks) {
+        startMessage();
+        int lastNumber = firstNumber + tasks.size() - 1;
+        out.println("Here are tasks " + firstNumber + "-" + lastNumber + " of " + total + " in your list:");
+        printNumbered(tasks, firstNumber);
         showLine();
     }
 
@@ -84,8 +148,8 @@ public class Ui {
      * Shows the goodbye message.
      */
     public void showGoodbye() {
-        showLine();
-        System.out.println("Bye. Hope to see you again soon!");
+        startMessage();
+        out.println("Bye. Hope to see you again soon!");
         showLine();
     }
 
@@ -95,9 +159,9 @@ public class Ui {
      * @param task Task that was marked.
      */
     public void showMarkedTask(Task task) {
-        showLine();
-        System.out.println("Nice! I've marked this task as done:");
-        System.out.println("  " + task);
+        startMessage();
+        out.println("Nice! I've marked this task as done:");
+        out.println("  " + task);
         showLine();
     }
 
@@ -107,9 +171,9 @@ public class Ui {
      * @param task Task that was unmarked.
      */
     public void showUnmarkedTask(Task task) {
-        showLine();
-        System.out.println("OK, I've marked this task as not done yet:");
-        System.out.println("  " + task);
+        startMessage();
+        out.println("OK, I've marked this task as not done yet:");
+        out.println("  " + task);
         showLine();
     }
 
@@ -120,10 +184,10 @@ public class Ui {
      * @param total Total number of tasks remaining.
      */
     public void showDeletedTask(Task task, int total) {
-        showLine();
-        System.out.println("Noted. I've removed this task:");
-        System.out.println("  " + task);
-        System.out.println("Now you have " + total + " tasks in the list.");
+        startMessage();
+        out.println("Noted. I've removed this task:");
+        out.println("  " + task);
+        out.println("Now you have " + total + " tasks in the list.");
         showLine();
     }
 
@@ -134,10 +198,10 @@ public class Ui {
      * @param total Total number of tasks after adding.
      */
     public void showAddedTask(Task task, int total) {
-        showLine();
-        System.out.println("Got it. I've added this task:");
-        System.out.println("  " + task);
-        System.out.println("Now you have " + total + " tasks in the list.");
+        startMessage();
+        out.println("Got it. I've added this task:");
+        out.println("  " + task);
+        out.println("Now you have " + total + " tasks in the list.");
         showLine();
     }
 
@@ -146,12 +210,10 @@ public class Ui {
      *
      * @param tasks List of matching tasks to display.
      */
-    public void showMatchingTasks(ArrayList<Task> tasks) {
-        showLine();
-        System.out.println("Here are the matching tasks in your list:");
-        for (int i = 0; i < tasks.size(); i++) {
-            System.out.println((i + 1) + "." + tasks.get(i));
-        }
+    public void showMatchingTasks(List<Task> tasks) {
+        startMessage();
+        out.println("Here are the matching tasks in your list:");
+        printNumbered(tasks, 1);
         showLine();
     }
 
@@ -161,24 +223,68 @@ public class Ui {
      * @param date Date to display in the header.
      * @param tasks List of tasks to display (already filtered).
      */
-    public void showTasksOnDate(java.time.LocalDate date, ArrayList<Task> tasks) {
+    public void showTasksOnDate(LocalDate date, List<Task> tasks) {
+        startMessage();
+        out.println("Here are the tasks occurring on " + DateTimeUtil.formatDateForDisplay(date) + ":");
+
+        if (tasks.isEmpty()) {
+            out.println("No matching tasks.");
+        } else {
+            printNumbered(tasks, 1);
+        }
         showLine();
-        System.out.println("Here are the tasks occurring on " + DateTimeUtil.formatDateForDisplay(date) + ":");
+    }
+
+    /**
+     * Shows tasks occurring between two dates.
+     *
+     * @param from First date of the range.
+     * @param to Last date of the range.
+     * @param tasks List of tasks to display (already filtered).
+     */
+    public void showTasksBetween(LocalDate from, LocalDate to, List<Task> tasks) {
+        startMessage();
+        out.println("Here are the tasks occurring from " + DateTimeUtil.formatDateForDisplay(from)
+                + " to " + DateTimeUtil.formatDateForDisplay(to) + ":");
 
         if (tasks.isEmpty()) {
-            System.out.println("No matching tasks.");
+            out.println("No matching tasks.");
         } else {
-            for (int i = 0; i < tasks.size(); i++) {
-                System.out.println((i + 1) + "." + tasks.get(i));
-            }
+            printNumbered(tasks, 1);
         }
         showLine();
     }
 
     /**
-     * Closes the scanner.
+     * Closes the input and writes out any remaining output.
      */
     public void close() {
-        scanner.close();
+        try {
+            in.close();
+        } catch (IOException e) {
+            // Nothing more is read, so a failure to close the input changes nothing
+        }
+        out.flush();
+    }
+
+    private void startMessage() {
+        out.println(LINE);
+    }
+
+    /**
+     * Writes the tasks one per line into the output buffer, numbered from {@code firstNumber}.
+     * Tasks render into a shared chunk rather than a string each.
+     */
+    private void printNumbered(List<Task> tasks, int firstNumber) {
+        StringBuilder chunk = new StringBuilder(RENDER_CHUNK_SIZE);
+        int number = firstNumber;
+        for (Task task : tasks) {
+            task.appendTo(chunk.append(number++).append('.')).append(System.lineSeparator());
+            if (chunk.length() >= RENDER_CHUNK_SIZE) {
+                out.append(chunk);
+                chunk.setLength(0);
+            }
+        }
+        out.append(chunk);
     }
 }
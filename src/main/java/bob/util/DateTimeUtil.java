@@ -3,6 +3,7 @@ package bob.util;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.Locale;
@@ -18,6 +19,25 @@ public class DateTimeUtil {
     public static final DateTimeFormatter STORAGE_DATE_TIME =
             DateTimeFormatter.ofPattern("yyyy-MM-dd HHmm");
 
+    /**
+     * Date format for user input, also used by commands that take a date only.
+     * Example: 2019-12-02
+     */
+    public static final DateTimeFormatter INPUT_DATE = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    private static final DateTimeFormatter INPUT_DATE_COLON_TIME =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    private static final DateTimeFormatter INPUT_DAY_FIRST_DATE = DateTimeFormatter.ofPattern("d/M/yyyy");
+
+    private static final DateTimeFormatter INPUT_DAY_FIRST_DATE_TIME =
+            DateTimeFormatter.ofPattern("d/M/yyyy HHmm");
+
+    private static final DateTimeFormatter INPUT_DAY_FIRST_DATE_COLON_TIME =
+            DateTimeFormatter.ofPattern("d/M/yyyy HH:mm");
+
+    private static final int SECONDS_PER_MINUTE = 60;
+
     private static final DateTimeFormatter OUTPUT_DATE =
             DateTimeFormatter.ofPattern("MMM dd yyyy", Locale.ENGLISH);
 
@@ -27,6 +47,11 @@ public class DateTimeUtil {
     /**
      * Parses user input into a LocalDateTime, accepting multiple formats.
      *
+     * <p>The layout is picked from the characters of the input before parsing: a slash means
+     * d/M/yyyy rather than yyyy-MM-dd, a space means a time follows, and a colon means the time is
+     * HH:mm rather than HHmm. No two supported layouts share that combination, so the input is parsed
+     * once, by the only formatter that could accept it.
+     *
      * @param raw Raw date/time string from user input.
      * @return Parsed LocalDateTime object.
      * @throws DateTimeParseException If the input cannot be parsed in any supported format.
@@ -34,37 +59,16 @@ public class DateTimeUtil {
     public static LocalDateTime parseUserDateTime(String raw) {
         assert raw != null : "raw date/time string must not be null";
         String s = raw.trim();
-
-        DateTimeFormatter[] dateTimeFormats = new DateTimeFormatter[] {
-                DateTimeFormatter.ofPattern("yyyy-MM-dd HHmm"),
-                DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm"),
-                DateTimeFormatter.ofPattern("d/M/yyyy HHmm"),
-                DateTimeFormatter.ofPattern("d/M/yyyy HH:mm")
-        };
-
-        for (DateTimeFormatter f : dateTimeFormats) {
-            try {
-                return LocalDateTime.parse(s, f);
-            } catch (DateTimeParseException ignored) {
-                // try next
-            }
-        }
-
-        DateTimeFormatter[] dateOnlyFormats = new DateTimeFormatter[] {
-                DateTimeFormatter.ofPattern("yyyy-MM-dd"),
-                DateTimeFormatter.ofPattern("d/M/yyyy")
-        };
-
-        for (DateTimeFormatter f : dateOnlyFormats) {
-            try {
-                LocalDate d = LocalDate.parse(s, f);
-                return d.atStartOfDay(); // date-only -> 00:00
-            } catch (DateTimeParseException ignored) {
-                // try next
-            }
+        boolean isDayFirst = s.indexOf('/') >= 0;
+        if (s.indexOf(' ') < 0) {
+            LocalDate d = LocalDate.parse(s, isDayFirst ? INPUT_DAY_FIRST_DATE : INPUT_DATE);
+            return d.atStartOfDay(); // date-only -> 00:00
         }
-
-        throw new DateTimeParseException("Unparseable date/time", s, 0);
+        boolean hasColon = s.indexOf(':') >= 0;
+        DateTimeFormatter format = isDayFirst
+                ? (hasColon ? INPUT_DAY_FIRST_DATE_COLON_TIME : INPUT_DAY_FIRST_DATE_TIME)
+                : (hasColon ? INPUT_DATE_COLON_TIME : STORAGE_DATE_TIME);
+        return LocalDateTime.parse(s, format);
     }
 
     /**
@@ -92,5 +96,26 @@ public class DateTimeUtil {
         assert date != null : "LocalDate must not be null";
         return date.format(OUTPUT_DATE);
     }
-}
 
+    /**
+     * Converts a LocalDateTime to whole minutes since 1970-01-01 00:00, dropping any seconds.
+     * Times are stored to the minute, so this is how they are kept in compact form.
+     *
+     * @param dateTime LocalDateTime to convert.
+     * @return Minutes since the epoch.
+     */
+    public static long toEpochMinute(LocalDateTime dateTime) {
+        assert dateTime != null : "LocalDateTime must not be null";
+        return Math.floorDiv(dateTime.toEpochSecond(ZoneOffset.UTC), SECONDS_PER_MINUTE);
+    }
+
+    /**
+     * Converts minutes since 1970-01-01 00:00 back to a LocalDateTime.
+     *
+     * @param epochMinute Minutes since the epoch.
+     * @return The corresponding LocalDateTime.
+     */
+    public static LocalDateTime fromEpochMinute(long epochMinute) {
+        return LocalDateTime.ofEpochSecond(epochMinute * SECONDS_PER_MINUTE, 0, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,72 @@
+package bob;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for the CLI {@link Bob} run over redirected standard input and output.
+ */
+@DisplayName("Bob")
+class BobTest {
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Runs Bob with the given command line options over the given input and returns its output.
+     */
+    private String run(String input, String... options) {
+        InputStream originalIn = System.in;
+        PrintStream originalOut = System.out;
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try {
+            System.setIn(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)));
+            System.setOut(new PrintStream(output, true, StandardCharsets.UTF_8));
+            Bob.fromArgs(tempDir.resolve("bob.txt").toString(), List.of(options)).run();
+        } finally {
+            System.setIn(originalIn);
+            System.setOut(originalOut);
+        }
+        return output.toString(StandardCharsets.UTF_8);
+    }
+
+    private static String urgentDeadlineCommand() {
+        String tomorrow = LocalDateTime.now().plusDays(1).format(DateTimeFormatter.ofPattern("yyyy-MM-dd HHmm"));
+        return "deadline pay rent /by " + tomorrow + "\n";
+    }
+
+    @Test
+    @DisplayName("run (piped): answers every command without urgent tasks and stops at the end of input")
+    void run_piped_answersScriptWithoutBanners() {
+        String output = run(urgentDeadlineCommand() + "list\n", "--piped");
+
+        assertTrue(output.startsWith("____"));
+        assertTrue(output.contains("Hello! I'm Bob"));
+        assertTrue(output.contains("1.[D][ ] pay rent"));
+        assertFalse(output.contains("URGENT TASKS:"));
+        assertFalse(output.contains("Bye."));
+    }
+
+    @Test
+    @DisplayName("run (piped): --urgent shows the urgent tasks before every response")
+    void run_pipedWithUrgent_showsBanners() {
+        String output = run(urgentDeadlineCommand() + "list\nbye\n", "--piped", "--urgent");
+
+        assertEquals(2, output.split("URGENT TASKS:", -1).length - 1);
+        assertTrue(output.contains("Bye. Hope to see you again soon!"));
+    }
+}
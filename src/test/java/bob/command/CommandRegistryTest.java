@@ -0,0 +1,86 @@
+package bob.command;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import bob.storage.Storage;
+import bob.task.TaskList;
+import bob.tasktype.Todo;
+
+/**
+ * Tests for {@link CommandRegistry}.
+ */
+@DisplayName("CommandRegistry")
+class CommandRegistryTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("dispatch: runs the command registered under the first word")
+    void dispatch_firstWord_runsCommand() {
+        Storage storage = new Storage(tempDir.resolve("bob.txt").toString());
+        CommandContext context = new CommandContext(new TaskList(), storage);
+        CommandRegistry registry = CommandRegistry.withBuiltInCommands();
+
+        assertEquals(CommandResult.ResultType.MESSAGE, registry.dispatch("todo read", context).getType());
+        assertEquals(CommandResult.ResultType.MESSAGE, registry.dispatch("mark 1", context).getType());
+        assertEquals(CommandResult.ResultType.LIST, registry.dispatch("list", context).getType());
+        assertEquals(1, context.getTasks().size());
+        assertEquals("[T][X] read", context.getTasks().get(0).toString());
+        storage.close();
+    }
+
+    @Test
+    @DisplayName("dispatch: unknown words and bare words without a usage error are unknown commands")
+    void dispatch_unknownWord_returnsUnknownCommandError() {
+        Storage storage = new Storage(tempDir.resolve("bob.txt").toString());
+        CommandContext context = new CommandContext(new TaskList(), storage);
+        CommandRegistry registry = CommandRegistry.withBuiltInCommands();
+
+        for (String input : new String[]{"blah", "listx", "LIST", "mark", "on", "bye now"}) {
+            CommandResult result = registry.dispatch(input, context);
+            assertEquals(CommandResult.UNKNOWN_COMMAND_ERROR, result.getMessage(), input);
+        }
+        assertSame(CommandResult.EXIT, registry.dispatch("BYE", context));
+        storage.close();
+    }
+
+    @Test
+    @DisplayName("dispatch: list results are read-only views of the tasks shown")
+    void dispatch_list_returnsReadOnlyView() {
+        Storage storage = new Storage(tempDir.resolve("bob.txt").toString());
+        TaskList tasks = new TaskList(new Todo("a"), new Todo("b"), new Todo("c"));
+        CommandContext context = new CommandContext(tasks, storage);
+        CommandRegistry registry = CommandRegistry.withBuiltInCommands();
+
+        CommandResult all = registry.dispatch("list", context);
+        assertEquals(3, all.getTaskList().size());
+        assertThrows(UnsupportedOperationException.class, () -> all.getTaskList().remove(0));
+        CommandResult range = registry.dispatch("list 2-9", context);
+        assertEquals(2, range.getFirstNumber());
+        assertEquals("[T][ ] b", range.getTaskList().get(0).toString());
+        assertEquals(2, range.getTaskList().size());
+        storage.close();
+    }
+
+    @Test
+    @DisplayName("register: added commands are dispatched and can replace built-in ones")
+    void register_customCommand_isDispatched() {
+        Storage storage = new Storage(tempDir.resolve("bob.txt").toString());
+        CommandContext context = new CommandContext(new TaskList(), storage);
+        CommandRegistry registry = CommandRegistry.withBuiltInCommands();
+        registry.register("count", (input, ctx) -> CommandResult.message("" + ctx.getTasks().size()));
+        registry.register("list", (input, ctx) -> CommandResult.message("replaced"));
+
+        assertEquals("0", registry.dispatch("count", context).getMessage());
+        assertEquals("replaced", registry.dispatch("list", context).getMessage());
+        storage.close();
+    }
+}
@@ -54,6 +54,25 @@ class ParserTest {
         assertEquals(-2, Parser.parseIndex("mark -1", "mark "));
     }
 
+    /* ---------- parseListRange ---------- */
+    @Test
+    @DisplayName("parseListRange: range and page give 1-based inclusive bounds")
+    void parseListRange_rangeAndPage_returnsBounds() {
+        assertArrayEquals(new int[]{51, 100}, Parser.parseListRange("list 51-100"));
+        assertArrayEquals(new int[]{3, 3}, Parser.parseListRange("list 3 - 3"));
+        assertArrayEquals(new int[]{1, 50}, Parser.parseListRange("list page 1"));
+        assertArrayEquals(new int[]{51, 100}, Parser.parseListRange("list page 2"));
+    }
+
+    @Test
+    @DisplayName("parseListRange: malformed or backwards ranges throw")
+    void parseListRange_malformed_throws() {
+        assertThrows(IllegalArgumentException.class, () -> Parser.parseListRange("list 5-2"));
+        assertThrows(IllegalArgumentException.class, () -> Parser.parseListRange("list 0-2"));
+        assertThrows(IllegalArgumentException.class, () -> Parser.parseListRange("list page 0"));
+        assertThrows(IllegalArgumentException.class, () -> Parser.parseListRange("list all"));
+    }
+
     /* ---------- parseDeadlineArgs ---------- */
     @Test
     @DisplayName("parseDeadlineArgs: valid command returns description and by")
@@ -133,4 +152,25 @@ class ParserTest {
         assertThrows(DateTimeParseException.class, () ->
                 Parser.parseOnDate("on not-a-date"));
     }
+
+    // ---------- parseBetweenDates ----------
+
+    @Test
+    @DisplayName("parseBetweenDates: two valid dates return [from, to]")
+    void parseBetweenDates_validRange_returnsDates() {
+        LocalDate[] range = Parser.parseBetweenDates("between 2025-01-15   2025-01-20 ");
+        assertEquals(LocalDate.of(2025, 1, 15), range[0]);
+        assertEquals(LocalDate.of(2025, 1, 20), range[1]);
+    }
+
+    @Test
+    @DisplayName("parseBetweenDates: missing date or reversed range throws IllegalArgumentException")
+    void parseBetweenDates_invalidRange_throws() {
+        assertThrows(IllegalArgumentException.class, () ->
+                Parser.parseBetweenDates("between 2025-01-15"));
+        assertThrows(IllegalArgumentException.class, () ->
+                Parser.parseBetweenDates("between 2025-01-20 2025-01-15"));
+        assertThrows(DateTimeParseException.class, () ->
+                Parser.parseBetweenDates("between 2025-01-15 20-01-2025"));
+    }
 }
@@ -0,0 +1,46 @@
+package bob.query;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link QueryParser}.
+ */
+@DisplayName("QueryParser")
+class QueryParserTest {
+    @Test
+    @DisplayName("parse: every field, with quoted values and case-insensitive names")
+    void parse_allFields() {
+        Query query = QueryParser.parse(" type:d  DONE:no desc:\"weekly report\" before:2025-12-01 after:2025-11-01");
+
+        assertEquals(List.of(
+                new Condition.Type('D'),
+                new Condition.Done(false),
+                new Condition.Description("weekly report"),
+                new Condition.Before(LocalDate.of(2025, 12, 1)),
+                new Condition.After(LocalDate.of(2025, 11, 1))), query.getConditions());
+        assertEquals(LocalDate.of(2025, 11, 2), query.firstDay());
+        assertEquals(LocalDate.of(2025, 11, 30), query.lastDay());
+        assertEquals(true, query.isPendingDeadlinesOnly());
+    }
+
+    @Test
+    @DisplayName("parse: rejects malformed conditions")
+    void parse_malformed() {
+        assertThrows(IllegalArgumentException.class, () -> QueryParser.parse("   "));
+        assertThrows(IllegalArgumentException.class, () -> QueryParser.parse("report"));
+        assertThrows(IllegalArgumentException.class, () -> QueryParser.parse("desc:"));
+        assertThrows(IllegalArgumentException.class, () -> QueryParser.parse("type:X"));
+        assertThrows(IllegalArgumentException.class, () -> QueryParser.parse("done:maybe"));
+        assertThrows(IllegalArgumentException.class, () -> QueryParser.parse("tag:home"));
+        assertThrows(IllegalArgumentException.class, () -> QueryParser.parse("desc:\"open"));
+        assertThrows(DateTimeParseException.class, () -> QueryParser.parse("before:1/12/2025"));
+    }
+}
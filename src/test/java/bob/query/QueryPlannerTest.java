@@ -0,0 +1,108 @@
+package bob.query;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import bob.task.Task;
+import bob.task.TaskList;
+import bob.tasktype.Deadline;
+import bob.tasktype.Event;
+import bob.tasktype.Todo;
+
+/**
+ * Tests for {@link QueryPlanner} and {@link QueryPlan}.
+ */
+@DisplayName("QueryPlanner")
+class QueryPlannerTest {
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    private static TaskList randomTasks(Random random, int count) {
+        TaskList tasks = new TaskList();
+        String[] words = {"report", "meeting", "book", "gym", "rent", "call"};
+        for (int i = 0; i < count; i++) {
+            String description = words[random.nextInt(words.length)] + " " + random.nextInt(50);
+            LocalDateTime time = BASE.plusMinutes(random.nextInt(60 * 24 * 365));
+            switch (random.nextInt(3)) {
+            case 0:
+                tasks.add(new Todo(description));
+                break;
+            case 1:
+                tasks.add(new Deadline(description, time));
+                break;
+            default:
+                tasks.add(new Event(description, time, time.plusHours(random.nextInt(72))));
+                break;
+            }
+            if (random.nextInt(3) == 0) {
+                tasks.setStatus(i, Task.Status.DONE);
+            }
+        }
+        return tasks;
+    }
+
+    private static QueryPlan.AccessPath pathOf(String query, TaskList tasks) {
+        return QueryPlanner.plan(QueryParser.parse(query), tasks).getAccessPath();
+    }
+
+    @Test
+    @DisplayName("plan: picks the index with the fewest candidates")
+    void plan_picksMostSelectiveIndex() {
+        TaskList tasks = randomTasks(new Random(5), 3000);
+        tasks.add(new Todo("renew passport"));
+
+        assertEquals(QueryPlan.AccessPath.KEYWORD, pathOf("desc:passport done:no", tasks));
+        assertEquals(QueryPlan.AccessPath.DATE_RANGE, pathOf("desc:report after:2025-03-01 before:2025-03-03", tasks));
+        assertEquals(QueryPlan.AccessPath.PENDING_DEADLINES, pathOf("type:D done:no before:2025-02-01", tasks));
+        assertEquals(QueryPlan.AccessPath.SCAN, pathOf("done:yes type:T", tasks));
+        assertEquals(QueryPlan.AccessPath.NONE, pathOf("type:D after:2025-05-01 before:2025-05-02", tasks));
+        assertEquals(QueryPlan.AccessPath.DATE_RANGE, pathOf("after:2025-05-01 before:2025-05-02", tasks));
+    }
+
+    @Test
+    @DisplayName("execute: finds an event spanning both ends of crossed before: and after: dates")
+    void execute_crossedDates_findsSpanningEvent() {
+        TaskList tasks = new TaskList();
+        Event spanning = new Event("conference", LocalDateTime.of(2025, 1, 14, 16, 50),
+                LocalDateTime.of(2025, 1, 18, 4, 33));
+        tasks.add(new Deadline("report", LocalDateTime.of(2025, 1, 16, 12, 0)));
+        tasks.add(spanning);
+        tasks.add(new Event("workshop", LocalDateTime.of(2025, 1, 15, 9, 0), LocalDateTime.of(2025, 1, 18, 9, 0)));
+        Query query = QueryParser.parse("done:no before:2025-01-15 after:2025-01-17");
+
+        assertEquals(List.of(spanning), QueryPlanner.plan(query, tasks).execute(tasks));
+        assertEquals(List.of(), QueryPlanner.plan(QueryParser.parse("type:D before:2025-01-15 after:2025-01-17"),
+                tasks).execute(tasks));
+    }
+
+    @Test
+    @DisplayName("execute: matches checking every task, whichever index is used")
+    void execute_matchesScan() {
+        Random random = new Random(9);
+        TaskList tasks = randomTasks(random, 1500);
+        String[] terms = {"type:T", "type:D", "type:E", "done:yes", "done:no", "desc:report", "desc:\"gym 1\"",
+            "desc:e", "before:2025-04-01", "after:2025-10-15", "before:2025-02-10", "after:2025-02-01",
+            "before:2025-02-03", "after:2025-02-04"};
+        for (int round = 0; round < 300; round++) {
+            StringBuilder text = new StringBuilder();
+            for (int i = random.nextInt(4); i >= 0; i--) {
+                text.append(terms[random.nextInt(terms.length)]).append(' ');
+            }
+            Query query = QueryParser.parse(text.toString());
+
+            List<Task> expected = new ArrayList<>();
+            for (Task task : tasks.getAllTasks()) {
+                if (query.matches(task)) {
+                    expected.add(task);
+                }
+            }
+            assertEquals(expected, QueryPlanner.plan(query, tasks).execute(tasks), "query: " + text);
+        }
+    }
+}
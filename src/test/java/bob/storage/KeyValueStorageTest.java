@@ -0,0 +1,108 @@
+package bob.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import bob.task.Task;
+import bob.tasktype.Deadline;
+import bob.tasktype.Event;
+import bob.tasktype.Todo;
+
+/**
+ * Tests for {@link KeyValueStorage}.
+ */
+@DisplayName("KeyValueStorage")
+class KeyValueStorageTest {
+    @TempDir
+    Path tempDir;
+
+    private KeyValueStorage newStorage() {
+        return new KeyValueStorage(tempDir.resolve("bob.db").toString());
+    }
+
+    private static Todo todo(long id, String description) {
+        Todo todo = new Todo(description);
+        todo.setId(id);
+        return todo;
+    }
+
+    @Test
+    @DisplayName("load: new store returns empty list")
+    void load_newStore_returnsEmpty() throws IOException {
+        KeyValueStorage storage = newStorage();
+        assertTrue(storage.load().isEmpty());
+        storage.close();
+    }
+
+    @Test
+    @DisplayName("save then load: round-trips tasks")
+    void saveThenLoad_roundTrips() throws IOException {
+        List<Task> tasks = new ArrayList<>();
+        tasks.add(new Todo("borrow book"));
+        tasks.add(new Deadline("return book", LocalDateTime.of(2025, 1, 15, 18, 0)));
+        tasks.add(new Event("meeting", LocalDateTime.of(2025, 1, 15, 14, 0), LocalDateTime.of(2025, 1, 15, 16, 0)));
+
+        KeyValueStorage storage = newStorage();
+        storage.save(tasks);
+        storage.close();
+
+        KeyValueStorage reopened = newStorage();
+        ArrayList<Task> loaded = reopened.load();
+        reopened.close();
+        assertEquals(3, loaded.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            assertEquals(tasks.get(i).toString(), loaded.get(i).toString());
+        }
+    }
+
+    @Test
+    @DisplayName("add, update and delete: point updates by id keep list order across reopening")
+    void addUpdateDelete_keepListOrder() throws IOException {
+        KeyValueStorage storage = newStorage();
+        storage.load();
+        Todo a = todo(1, "a");
+        Todo b = todo(2, "b");
+        storage.add(a).join();
+        storage.add(b).join();
+        storage.add(todo(3, "c")).join();
+        storage.delete(a).join();
+        b.setStatus(Task.Status.DONE);
+        storage.update(b).join();
+        storage.add(todo(4, "d")).join();
+        storage.close();
+
+        KeyValueStorage reopened = newStorage();
+        ArrayList<Task> loaded = reopened.load();
+        reopened.add(todo(5, "e")).join();
+        reopened.close();
+        assertEquals(3, loaded.size());
+        assertEquals("[T][X] b", loaded.get(0).toString());
+        assertEquals(2, loaded.get(0).getId());
+        assertEquals("[T][ ] c", loaded.get(1).toString());
+        assertEquals("[T][ ] d", loaded.get(2).toString());
+
+        KeyValueStorage again = newStorage();
+        assertEquals("[T][ ] e", again.load().get(3).toString());
+        again.close();
+    }
+
+    @Test
+    @DisplayName("add: after close fails the future")
+    void add_afterClose_failsFuture() throws IOException {
+        KeyValueStorage storage = newStorage();
+        storage.load();
+        storage.close();
+
+        assertTrue(storage.add(todo(1, "late")).isCompletedExceptionally());
+    }
+}
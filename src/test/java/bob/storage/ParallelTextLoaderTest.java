@@ -0,0 +1,111 @@
+package bob.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import bob.task.Task;
+
+/**
+ * Tests for {@link ParallelTextLoader}.
+ */
+@DisplayName("ParallelTextLoader")
+class ParallelTextLoaderTest {
+    /** Large enough for several chunks of {@code MIN_CHUNK_BYTES}. */
+    private static final int MULTI_CHUNK_LINES = 60_000;
+
+    @TempDir
+    Path tempDir;
+
+    private ArrayList<Task> load(String content) throws IOException {
+        return load(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private ArrayList<Task> load(byte[] content) throws IOException {
+        Path file = tempDir.resolve("bob.txt");
+        Files.write(file, content);
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            return new ParallelTextLoader(pool).load(file);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static String lines(int count) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 1; i <= count; i++) {
+            sb.append(i).append(" | T | 0 | task number ").append(i).append('\n');
+        }
+        return sb.toString();
+    }
+
+    @Test
+    @DisplayName("load: empty file returns no tasks")
+    void load_emptyFile_returnsEmpty() throws IOException {
+        assertTrue(load("").isEmpty());
+    }
+
+    @Test
+    @DisplayName("load: CRLF and CR line endings are handled like LF")
+    void load_crlfLineEndings_parsesEveryLine() throws IOException {
+        ArrayList<Task> tasks = load("1 | T | 0 | a\r\n2 | T | 1 | b\r3 | T | 0 | c\r\n");
+        assertEquals(3, tasks.size());
+        assertEquals("[T][ ] a", tasks.get(0).toString());
+        assertEquals("[T][X] b", tasks.get(1).toString());
+        assertEquals("[T][ ] c", tasks.get(2).toString());
+    }
+
+    @Test
+    @DisplayName("load: a file of several chunks keeps every task in file order")
+    void load_multipleChunks_keepsOrder() throws IOException {
+        String content = lines(MULTI_CHUNK_LINES);
+        int[] bounds = ParallelTextLoader.splitAtNewlines(
+                ByteBuffer.wrap(content.getBytes(StandardCharsets.UTF_8)), 8);
+        assertTrue(bounds.length > 2, "expected more than one chunk");
+
+        ArrayList<Task> tasks = load(content);
+        assertEquals(MULTI_CHUNK_LINES, tasks.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            assertEquals(i + 1, tasks.get(i).getId());
+        }
+    }
+
+    @Test
+    @DisplayName("splitAtNewlines: a line longer than a chunk is never split")
+    void splitAtNewlines_lineSpanningChunks_endsChunksAtNewlines() throws IOException {
+        String longLine = "1 | T | 0 | " + "x".repeat(700 * 1024) + "\n";
+        byte[] content = (longLine + "2 | T | 0 | short\n").getBytes(StandardCharsets.UTF_8);
+        int[] bounds = ParallelTextLoader.splitAtNewlines(ByteBuffer.wrap(content), 8);
+        assertEquals(0, bounds[0]);
+        assertEquals(content.length, bounds[bounds.length - 1]);
+        for (int i = 1; i < bounds.length - 1; i++) {
+            assertEquals('\n', content[bounds[i] - 1]);
+        }
+
+        ArrayList<Task> tasks = load(content);
+        assertEquals(2, tasks.size());
+        assertEquals(700 * 1024, tasks.get(0).getDescription().length());
+        assertEquals("short", tasks.get(1).getDescription());
+    }
+
+    @Test
+    @DisplayName("load: malformed UTF-8 is rejected rather than replaced")
+    void load_malformedUtf8_throws() {
+        byte[] content = {'1', ' ', '|', ' ', 'T', ' ', '|', ' ', '0', ' ', '|', ' ', (byte) 0xC3, '\n'};
+        assertThrows(CharacterCodingException.class, () -> load(content));
+    }
+}
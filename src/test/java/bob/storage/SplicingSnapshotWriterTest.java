@@ -0,0 +1,84 @@
+package bob.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import bob.task.Task;
+import bob.tasktype.Todo;
+
+/**
+ * Tests for {@link SplicingSnapshotWriter}.
+ */
+@DisplayName("SplicingSnapshotWriter")
+class SplicingSnapshotWriterTest {
+    private static final byte[] HEADER = "H\n".getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    Path tempDir;
+
+    private final List<Task> encoded = new ArrayList<>();
+    private final SplicingSnapshotWriter writer = new SplicingSnapshotWriter(task -> {
+        encoded.add(task);
+        return (task.getDescription() + (task.getStatus() == Task.Status.DONE ? "!" : "") + "\n")
+                .getBytes(StandardCharsets.UTF_8);
+    });
+
+    private static List<Task> todos(String... descriptions) {
+        List<Task> tasks = new ArrayList<>();
+        for (String description : descriptions) {
+            tasks.add(new Todo(description));
+        }
+        return tasks;
+    }
+
+    /** Writes the tasks aside and renames the file over the snapshot, as Storage does. */
+    private void writeSnapshot(Path snapshot, List<Task> tasks) throws IOException {
+        Path temp = tempDir.resolve("snapshot.tmp");
+        writer.write(temp, HEADER, tasks, snapshot);
+        Files.move(temp, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    @Test
+    @DisplayName("write: only new and changed tasks are encoded, the rest is copied from the previous file")
+    void write_unchangedTasks_copiedFromPreviousSnapshot() throws IOException {
+        Path snapshot = tempDir.resolve("snapshot");
+        List<Task> tasks = todos("a", "b", "c", "d");
+        writeSnapshot(snapshot, tasks);
+        assertEquals(4, encoded.size());
+
+        encoded.clear();
+        tasks.get(1).markDone();
+        tasks.remove(2);
+        tasks.add(new Todo("e"));
+        writeSnapshot(snapshot, tasks);
+
+        assertEquals(List.of(tasks.get(1), tasks.get(3)), encoded);
+        assertEquals("H\na\nb!\nd\ne\n", Files.readString(snapshot));
+    }
+
+    @Test
+    @DisplayName("write: a previous snapshot changed by someone else is not copied from")
+    void write_previousSnapshotChanged_encodesEverything() throws IOException {
+        Path snapshot = tempDir.resolve("snapshot");
+        List<Task> tasks = todos("a", "b");
+        writeSnapshot(snapshot, tasks);
+        Files.writeString(snapshot, "H\nxx\nyy\nzz\n");
+
+        encoded.clear();
+        writeSnapshot(snapshot, tasks);
+
+        assertEquals(tasks, encoded);
+        assertEquals("H\na\nb\n", Files.readString(snapshot));
+    }
+}
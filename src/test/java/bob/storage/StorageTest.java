@@ -0,0 +1,251 @@
+package bob.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import bob.task.Task;
+import bob.tasktype.Deadline;
+import bob.tasktype.Event;
+import bob.tasktype.Todo;
+
+/**
+ * Tests for {@link Storage}.
+ */
+@DisplayName("Storage")
+class StorageTest {
+    @TempDir
+    Path tempDir;
+
+    private Storage newStorage() {
+        return new Storage(tempDir.resolve("bob.txt").toString());
+    }
+
+    private static Todo todo(long id, String description) {
+        Todo todo = new Todo(description);
+        todo.setId(id);
+        return todo;
+    }
+
+    @Test
+    @DisplayName("load: missing file returns empty list")
+    void load_missingFile_returnsEmpty() throws IOException {
+        assertTrue(newStorage().load().isEmpty());
+    }
+
+    @Test
+    @DisplayName("save then load: round-trips tasks")
+    void saveThenLoad_roundTrips() throws IOException {
+        ArrayList<Task> tasks = new ArrayList<>();
+        tasks.add(new Todo("borrow book"));
+        Deadline deadline = new Deadline("return book", LocalDateTime.of(2025, 1, 15, 18, 0));
+        deadline.setStatus(Task.Status.DONE);
+        tasks.add(deadline);
+
+        newStorage().save(tasks);
+        ArrayList<Task> loaded = newStorage().load();
+
+        assertEquals(2, loaded.size());
+        assertEquals("[T][ ] borrow book", loaded.get(0).toString());
+        assertEquals(deadline.toString(), loaded.get(1).toString());
+    }
+
+    @Test
+    @DisplayName("save: re-encodes tasks whose status changed since the previous save")
+    void save_changedTask_reencoded() throws IOException {
+        Storage storage = newStorage();
+        ArrayList<Task> tasks = new ArrayList<>();
+        tasks.add(new Todo("a"));
+        tasks.add(new Todo("b"));
+        storage.save(tasks);
+
+        tasks.get(1).setStatus(Task.Status.DONE);
+        tasks.remove(0);
+        storage.save(tasks);
+
+        assertEquals(List.of("T | 1 | b"), Files.readAllLines(tempDir.resolve("bob.txt")));
+    }
+
+    /* ---------- journal ---------- */
+    @Test
+    @DisplayName("journal: add, mark and delete records are replayed on load")
+    void journal_replaysMutations() throws IOException {
+        Storage storage = newStorage();
+        Todo a = todo(1, "a");
+        Todo b = todo(2, "b");
+        storage.appendAdd(a);
+        storage.appendAdd(b);
+        storage.appendAdd(todo(3, "c"));
+        b.setStatus(Task.Status.DONE);
+        storage.appendStatus(b);
+        storage.appendDelete(a);
+        storage.close();
+
+        ArrayList<Task> loaded = newStorage().load();
+
+        assertEquals(2, loaded.size());
+        assertEquals("[T][X] b", loaded.get(0).toString());
+        assertEquals(2, loaded.get(0).getId());
+        assertEquals("[T][ ] c", loaded.get(1).toString());
+        assertEquals(3, loaded.get(1).getId());
+    }
+
+    @Test
+    @DisplayName("journal: replayed on top of snapshot and cleared by save")
+    void journal_replayedOnSnapshot_clearedBySave() throws IOException {
+        Storage storage = newStorage();
+        ArrayList<Task> tasks = new ArrayList<>();
+        tasks.add(todo(1, "a"));
+        storage.save(tasks);
+        storage.appendAdd(todo(2, "b")).join();
+
+        ArrayList<Task> loaded = newStorage().load();
+        assertEquals(2, loaded.size());
+
+        storage.save(loaded);
+        assertTrue(Files.notExists(tempDir.resolve("bob.txt.journal")));
+        assertEquals(2, newStorage().load().size());
+    }
+
+    @Test
+    @DisplayName("journal: corrupted and out-of-range records are skipped")
+    void journal_corruptRecords_skipped() throws IOException {
+        Storage storage = newStorage();
+        storage.appendAdd(todo(1, "a"));
+        storage.close();
+        Files.writeString(tempDir.resolve("bob.txt.journal"), "done 7\nremove x\nmark 7\ndelete x\nunmark",
+                StandardOpenOption.APPEND);
+
+        ArrayList<Task> loaded = newStorage().load();
+
+        assertEquals(1, loaded.size());
+        assertEquals("[T][ ] a", loaded.get(0).toString());
+    }
+
+    @Test
+    @DisplayName("load: gives ids to a file written before tasks had ids and rewrites it")
+    void load_fileWithoutIds_assignsIdsAndRewrites() throws IOException {
+        Files.writeString(tempDir.resolve("bob.txt"), "T | 0 | a\n5 | T | 0 | b\n3 | T | 1 | c\n");
+
+        ArrayList<Task> loaded = newStorage().load();
+
+        assertEquals(3, loaded.size());
+        assertEquals(1, loaded.get(0).getId());
+        assertEquals(5, loaded.get(1).getId());
+        assertEquals(6, loaded.get(2).getId());
+        assertEquals(List.of("1 | T | 0 | a", "5 | T | 0 | b", "6 | T | 1 | c"),
+                Files.readAllLines(tempDir.resolve("bob.txt")));
+    }
+
+    /* ---------- compaction ---------- */
+    @Test
+    @DisplayName("compactIfNeeded: folds journal into snapshot once threshold is reached")
+    void compactIfNeeded_overThreshold_foldsJournal() throws IOException {
+        Storage storage = newStorage();
+        storage.setCompactionThresholds(3, Long.MAX_VALUE);
+        ArrayList<Task> tasks = new ArrayList<>();
+        for (String desc : new String[] {"a", "b"}) {
+            Task task = todo(tasks.size() + 1, desc);
+            tasks.add(task);
+            storage.appendAdd(task);
+            assertFalse(storage.compactIfNeeded(tasks));
+        }
+        Task task = todo(3, "c");
+        tasks.add(task);
+        storage.appendAdd(task);
+        assertTrue(storage.compactIfNeeded(tasks));
+        storage.appendDelete(tasks.remove(0));
+        storage.close();
+
+        assertEquals(3, Files.readAllLines(tempDir.resolve("bob.txt")).size());
+        assertEquals(1, Files.readAllLines(tempDir.resolve("bob.txt.journal")).size());
+        ArrayList<Task> loaded = newStorage().load();
+        assertEquals(2, loaded.size());
+        assertEquals("[T][ ] b", loaded.get(0).toString());
+    }
+
+    @Test
+    @DisplayName("load: finishes a compaction that was interrupted after its commit point")
+    void load_interruptedCompaction_recovers() throws IOException {
+        Files.writeString(tempDir.resolve("bob.txt"), "T | 0 | old\n");
+        Files.writeString(tempDir.resolve("bob.txt.1"), "1 | T | 0 | a\n2 | T | 0 | b\n");
+        Files.writeString(tempDir.resolve("bob.txt.journal.1"), "add 2 | T | 0 | b\n");
+        Files.writeString(tempDir.resolve("bob.txt.journal.2"), "done 2\n");
+        Files.writeString(tempDir.resolve("bob.txt.tmp"), "T | 0 | partial\n");
+
+        ArrayList<Task> loaded = newStorage().load();
+
+        assertEquals(2, loaded.size());
+        assertEquals("[T][ ] a", loaded.get(0).toString());
+        assertEquals("[T][X] b", loaded.get(1).toString());
+        assertTrue(Files.notExists(tempDir.resolve("bob.txt.journal.1")));
+        assertTrue(Files.notExists(tempDir.resolve("bob.txt.tmp")));
+    }
+
+    /* ---------- asynchronous writes ---------- */
+    @Test
+    @DisplayName("appendAdd: future completes once the record is on disk")
+    void appendAdd_futureCompletesAfterWrite() throws IOException {
+        Storage storage = new Storage(tempDir.resolve("bob.txt").toString(), Durability.SYNC_EVERY_COMMIT, 1000);
+        storage.appendAdd(todo(1, "a")).join();
+
+        assertEquals(List.of("add 1 | T | 0 | a"), Files.readAllLines(tempDir.resolve("bob.txt.journal")));
+        storage.close();
+    }
+
+    @Test
+    @DisplayName("appendAdd: future completes exceptionally after close")
+    void appendAdd_afterClose_failsFuture() {
+        Storage storage = newStorage();
+        storage.close();
+
+        assertTrue(storage.appendAdd(todo(1, "a")).isCompletedExceptionally());
+    }
+
+    /* ---------- binary format ---------- */
+    @Test
+    @DisplayName("binary format: round-trips tasks and is detected on load")
+    void binaryFormat_roundTrips() throws IOException {
+        Path file = tempDir.resolve("bob.txt");
+        Storage storage = new Storage(file.toString(), StorageFormat.BINARY, Durability.OS_BUFFERED, 1000);
+        ArrayList<Task> tasks = new ArrayList<>();
+        tasks.add(new Todo("caf\u00e9"));
+        Event event = new Event("meeting", LocalDateTime.of(1969, 7, 20, 20, 17),
+                LocalDateTime.of(2025, 2, 20, 15, 0));
+        event.setStatus(Task.Status.DONE);
+        tasks.add(event);
+        storage.save(tasks);
+
+        assertTrue(BinaryTaskCodec.isBinary(file));
+        ArrayList<Task> loaded = newStorage().load();
+        assertEquals(2, loaded.size());
+        assertEquals("[T][ ] caf\u00e9", loaded.get(0).toString());
+        assertEquals(event.toString(), loaded.get(1).toString());
+    }
+
+    @Test
+    @DisplayName("binary format: text file is migrated on load")
+    void binaryFormat_migratesTextFile() throws IOException {
+        Path file = tempDir.resolve("bob.txt");
+        Files.writeString(file, "T | 1 | a\nD | 0 | b | 2025-01-15 1800\n");
+
+        Storage storage = new Storage(file.toString(), StorageFormat.BINARY, Durability.OS_BUFFERED, 1000);
+        ArrayList<Task> loaded = storage.load();
+
+        assertEquals(2, loaded.size());
+        assertTrue(BinaryTaskCodec.isBinary(file));
+        assertEquals("[T][X] a", newStorage().load().get(0).toString());
+    }
+}
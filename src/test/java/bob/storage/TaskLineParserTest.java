@@ -0,0 +1,89 @@
+package bob.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import bob.task.Task;
+import bob.tasktype.Deadline;
+import bob.tasktype.Event;
+
+/**
+ * Tests for {@link TaskLineParser}.
+ */
+@DisplayName("TaskLineParser")
+class TaskLineParserTest {
+
+    /* ---------- ids ---------- */
+    @Test
+    @DisplayName("parse: ids of up to 18 digits are read, longer ones reject the line")
+    void parse_idDigits_limitedTo18() {
+        Task task = TaskLineParser.parse("999999999999999999 | T | 0 | a");
+        assertEquals(999_999_999_999_999_999L, task.getId());
+        assertNull(TaskLineParser.parse("1000000000000000000 | T | 0 | a"));
+    }
+
+    @Test
+    @DisplayName("parse: a zero id rejects the line, a missing id leaves it unassigned")
+    void parse_zeroOrMissingId() {
+        assertNull(TaskLineParser.parse("0 | T | 0 | a"));
+        assertEquals(Task.NO_ID, TaskLineParser.parse("T | 0 | a").getId());
+    }
+
+    /* ---------- separators ---------- */
+    @Test
+    @DisplayName("parse: missing separators reject the line")
+    void parse_missingSeparators_returnsNull() {
+        assertNull(TaskLineParser.parse("T | 0"));
+        assertNull(TaskLineParser.parse("T 0 | a"));
+        assertNull(TaskLineParser.parse("7 | T"));
+        assertNull(TaskLineParser.parse("D | 0 | return book"));
+        assertNull(TaskLineParser.parse("E | 0 | meeting | 2019-12-02 1400"));
+        assertNull(TaskLineParser.parse("T | 0 | | "));
+        assertNull(TaskLineParser.parse(""));
+    }
+
+    @Test
+    @DisplayName("parse: fields after the last expected one are ignored")
+    void parse_extraSeparators_ignoresExtraFields() {
+        assertEquals("a", TaskLineParser.parse("T | 0 | a | b").getDescription());
+        Deadline deadline = (Deadline) TaskLineParser.parse("D | 1 | a | 2019-12-02 1800 | extra");
+        assertEquals(LocalDateTime.of(2019, 12, 2, 18, 0), deadline.getBy());
+        assertEquals(Task.Status.DONE, deadline.getStatus());
+    }
+
+    /* ---------- whitespace ---------- */
+    @Test
+    @DisplayName("parse: spaces around separators are dropped, trailing spaces of the last field kept")
+    void parse_trailingSpaces() {
+        assertEquals("read book", TaskLineParser.parse("T  |  1  |  read book   | x").getDescription());
+        assertEquals("read book   ", TaskLineParser.parse("T | 1 | read book   ").getDescription());
+        assertNull(TaskLineParser.parse("D | 0 | a | 2019-12-02 1800  "));
+    }
+
+    /* ---------- dates ---------- */
+    @Test
+    @DisplayName("parse: deadlines and events with malformed dates reject the line")
+    void parse_malformedDates_returnsNull() {
+        assertNull(TaskLineParser.parse("D | 0 | a | 2019-12-02"));
+        assertNull(TaskLineParser.parse("D | 0 | a | 2019/12/02 1800"));
+        assertNull(TaskLineParser.parse("D | 0 | a | 2019-13-02 1800"));
+        assertNull(TaskLineParser.parse("D | 0 | a | 2019-12-02 18:00"));
+        assertNull(TaskLineParser.parse("E | 0 | a | 2019-12-02 1800 | 2019-12-02 1860"));
+        assertNull(TaskLineParser.parse("E | 0 | a | soon | 2019-12-02 1800"));
+    }
+
+    @Test
+    @DisplayName("parse: dates resolve like a SMART formatter")
+    void parse_smartResolution() {
+        Deadline deadline = (Deadline) TaskLineParser.parse("D | 0 | a | 2019-02-31 2400");
+        assertEquals(LocalDateTime.of(2019, 3, 1, 0, 0), deadline.getBy());
+        Event event = (Event) TaskLineParser.parse("E | 0 | a | 2020-02-29 0900 | 2020-02-29 1000");
+        assertEquals(LocalDateTime.of(2020, 2, 29, 9, 0), event.getFrom());
+        assertEquals(LocalDateTime.of(2020, 2, 29, 10, 0), event.getTo());
+    }
+}
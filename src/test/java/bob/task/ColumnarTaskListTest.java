@@ -0,0 +1,131 @@
+package bob.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import bob.tasktype.Deadline;
+import bob.tasktype.Event;
+import bob.tasktype.Todo;
+
+/**
+ * Tests for {@link ColumnarTaskList}.
+ */
+@DisplayName("ColumnarTaskList")
+class ColumnarTaskListTest {
+    private static List<String> render(List<Task> tasks) {
+        return tasks.stream().map(t -> t.getId() + " " + t).collect(Collectors.toList());
+    }
+
+    @Test
+    @DisplayName("get: returns a new task with the stored contents; changing it does not change the list")
+    void get_returnsDetachedTask() {
+        LocalDateTime by = LocalDateTime.of(2025, 1, 15, 18, 0);
+        ColumnarTaskList list = new ColumnarTaskList(new Todo("naïve café"), new Deadline("report", by));
+
+        Task deadline = list.get(1);
+        assertEquals("[D][ ] report (by: Jan 15 2025 18:00)", deadline.toString());
+        assertEquals(2L, deadline.getId());
+        deadline.setStatus(Task.Status.DONE);
+        assertEquals(Task.Status.NOT_DONE, list.get(1).getStatus());
+
+        assertEquals(Task.Status.DONE, list.setStatus(1, Task.Status.DONE).getStatus());
+        assertEquals("[T][ ] naïve café", list.get(0).toString());
+    }
+
+    @Test
+    @DisplayName("findTasksByKeyword: matches case-insensitively outside ASCII")
+    void findTasksByKeyword_nonAscii() {
+        ColumnarTaskList list = new ColumnarTaskList(
+                new Todo("Visit CAFÉ Ünter"), new Todo("cafe"), new Todo("ünter"));
+
+        assertEquals(List.of("Visit CAFÉ Ünter"),
+                list.findTasksByKeyword("café").stream().map(Task::getDescription).collect(Collectors.toList()));
+        assertEquals(2, list.findTasksByKeyword("ÜNTER").size());
+        assertEquals(3, list.findTasksByKeyword("").size());
+    }
+
+    @Test
+    @DisplayName("remove: positions stay right across tombstones and compaction")
+    void remove_manyTasks_keepsPositions() {
+        TaskList expected = new TaskList();
+        ColumnarTaskList actual = new ColumnarTaskList();
+        for (int i = 0; i < 500; i++) {
+            Task task = new Todo("task " + i);
+            expected.add(task);
+            actual.add(task);
+        }
+        for (int i = 0; expected.size() > 10; i++) {
+            int index = (i * 7) % expected.size();
+            assertEquals(expected.remove(index).toString(), actual.remove(index).toString());
+            if (i % 50 == 0) {
+                expected.setStatus(0, Task.Status.DONE);
+                actual.setStatus(0, Task.Status.DONE);
+                assertEquals(render(expected.getAllTasks()), render(actual.getAllTasks()));
+            }
+        }
+        for (int i = 0; i < 100; i++) {
+            Task task = new Todo("more " + i);
+            expected.add(task);
+            actual.add(task);
+        }
+        assertEquals(render(expected.getAllTasks()), render(actual.getAllTasks()));
+        assertEquals(expected.get(57).toString(), actual.get(57).toString());
+        assertEquals(render(expected.findTasksByKeyword("more 4")), render(actual.findTasksByKeyword("more 4")));
+    }
+
+    @Test
+    @DisplayName("behaves like TaskList on random operations")
+    void matchesTaskList() {
+        Random random = new Random(11);
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 0, 0);
+        TaskList expected = new TaskList();
+        ColumnarTaskList actual = new ColumnarTaskList();
+        for (int round = 0; round < 3000; round++) {
+            int op = random.nextInt(10);
+            if (expected.size() > 0 && op < 3) {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.remove(index).toString(), actual.remove(index).toString());
+            } else if (expected.size() > 0 && op < 5) {
+                int index = random.nextInt(expected.size());
+                Task.Status status = random.nextBoolean() ? Task.Status.DONE : Task.Status.NOT_DONE;
+                assertEquals(expected.setStatus(index, status).toString(), actual.setStatus(index, status).toString());
+            } else {
+                LocalDateTime from = base.plusMinutes(random.nextInt(60 * 24 * 30));
+                String description = "task " + random.nextInt(100) + (random.nextBoolean() ? " Book" : "");
+                Task task;
+                switch (op % 3) {
+                case 0:
+                    task = new Todo(description);
+                    break;
+                case 1:
+                    task = new Deadline(description, from);
+                    break;
+                default:
+                    task = new Event(description, from, from.plusMinutes(random.nextInt(60 * 24 * 5)));
+                    break;
+                }
+                expected.add(task);
+                actual.add(task);
+            }
+
+            assertEquals(expected.size(), actual.size());
+            LocalDate first = base.toLocalDate().plusDays(random.nextInt(30));
+            LocalDate last = first.plusDays(random.nextInt(3));
+            LocalDateTime now = base.plusSeconds(random.nextInt(60 * 60 * 24 * 30));
+            String keyword = random.nextBoolean() ? "book" : "task " + random.nextInt(100);
+            assertEquals(render(expected.getTasksBetween(first, last)), render(actual.getTasksBetween(first, last)));
+            assertEquals(render(expected.getUrgentTasks(now)), render(actual.getUrgentTasks(now)));
+            assertEquals(render(expected.findTasksByKeyword(keyword)), render(actual.findTasksByKeyword(keyword)));
+            assertEquals(render(expected.findTasksFuzzy(keyword, 5)), render(actual.findTasksFuzzy(keyword, 5)));
+        }
+        assertEquals(render(expected.getAllTasks()), render(actual.getAllTasks()));
+    }
+}
@@ -0,0 +1,99 @@
+package bob.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import bob.tasktype.Todo;
+
+/**
+ * Tests for {@link ConcurrentTaskList}.
+ */
+@DisplayName("ConcurrentTaskList")
+class ConcurrentTaskListTest {
+    @Test
+    @DisplayName("getAllTasks: returns an immutable snapshot that is reused until the list changes")
+    void getAllTasks_snapshot() {
+        ConcurrentTaskList list = new ConcurrentTaskList(new Todo("a"), new Todo("b"));
+
+        List<Task> snapshot = list.getAllTasks();
+        assertSame(snapshot, list.getAllTasks());
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.add(new Todo("c")));
+
+        list.add(new Todo("c"));
+        assertEquals(2, snapshot.size());
+        assertNotSame(snapshot, list.getAllTasks());
+        assertEquals(3, list.getAllTasks().size());
+
+        list.setStatus(0, Task.Status.DONE);
+        assertNotSame(snapshot, list.getAllTasks());
+        assertSame(Task.Status.DONE, snapshot.get(0).getStatus());
+    }
+
+    @Test
+    @DisplayName("readers always see whole batches and increasing ids while a writer adds and removes tasks")
+    void concurrentReadersAndWriter() throws Exception {
+        ConcurrentTaskList list = new ConcurrentTaskList();
+        int batch = 4;
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> readers = new ArrayList<>();
+            Future<?> writer = pool.submit(() -> {
+                for (int round = 0; round < 200; round++) {
+                    Task[] tasks = new Task[batch];
+                    for (int i = 0; i < batch; i++) {
+                        tasks[i] = new Todo("book " + round);
+                    }
+                    list.add(tasks);
+                    if (round % 2 == 1) {
+                        list.remove(0, batch);
+                    }
+                }
+            });
+            for (int r = 0; r < 3; r++) {
+                readers.add(pool.submit(() -> {
+                    while (!writer.isDone()) {
+                        assertWholeBatches(list.getAllTasks(), batch);
+                        assertWholeBatches(list.findTasksByKeyword("book"), batch);
+                    }
+                }));
+            }
+            writer.get(30, TimeUnit.SECONDS);
+            for (Future<?> reader : readers) {
+                reader.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(100 * batch, list.size());
+        assertTrue(list.getAllTasks().stream().allMatch(task -> task.getDescription().startsWith("book")));
+    }
+
+    /**
+     * Checks that ids increase along the tasks and that only whole batches were added and removed.
+     * Ids are given out in order from 1, so a whole batch starts one past a multiple of the batch size
+     * and ends on the next multiple.
+     */
+    private static void assertWholeBatches(List<Task> tasks, int batch) {
+        for (int i = 1; i < tasks.size(); i++) {
+            assertTrue(tasks.get(i - 1).getId() < tasks.get(i).getId());
+        }
+        assertEquals(0, tasks.size() % batch);
+        if (!tasks.isEmpty()) {
+            assertEquals(1, tasks.get(0).getId() % batch);
+            assertEquals(0, tasks.get(tasks.size() - 1).getId() % batch);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package bob.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link DescriptionArena}.
+ */
+@DisplayName("DescriptionArena")
+class DescriptionArenaTest {
+    private static byte[] utf8(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @DisplayName("append and decode: entries survive growing past the initial capacity")
+    void appendAndDecode_afterGrowing() {
+        DescriptionArena arena = new DescriptionArena(4);
+        int first = arena.append(utf8("naïve"));
+        int second = arena.append(utf8("second entry"));
+
+        assertEquals("naïve", arena.decode(first, utf8("naïve").length));
+        assertEquals("second entry", arena.decode(second, 12));
+        assertTrue(arena.capacity() >= arena.size());
+    }
+
+    @Test
+    @DisplayName("contains: looks only inside the given entry")
+    void contains_withinEntry() {
+        DescriptionArena arena = new DescriptionArena(64);
+        int first = arena.append(utf8("abc"));
+        int second = arena.append(utf8("def"));
+
+        assertTrue(arena.contains(first, 3, utf8("bc")));
+        assertTrue(arena.contains(second, 3, utf8("")));
+        assertFalse(arena.contains(first, 3, utf8("cd")));
+        assertFalse(arena.contains(first, 3, utf8("abcd")));
+
+        DescriptionArena copy = new DescriptionArena(1);
+        int copied = copy.append(arena, second, 3);
+        assertEquals("def", copy.decode(copied, 3));
+    }
+
+    @Test
+    @DisplayName("decode into a buffer: reuses the buffer while the entry fits and grows it otherwise")
+    void decodeIntoBuffer_reusesBuffer() {
+        DescriptionArena arena = new DescriptionArena(64);
+        int first = arena.append(utf8("café"));
+        int second = arena.append(utf8("a longer entry"));
+        CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder();
+        CharBuffer chars = CharBuffer.allocate(8);
+
+        CharBuffer decoded = arena.decode(first, utf8("café").length, decoder, chars);
+        assertSame(chars, decoded);
+        assertEquals("café", decoded.toString());
+
+        decoded = arena.decode(second, 14, decoder, decoded);
+        assertEquals("a longer entry", decoded.toString());
+        assertEquals("café", arena.decode(first, utf8("café").length, decoder, decoded).toString());
+    }
+}
@@ -0,0 +1,84 @@
+package bob.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import bob.tasktype.Todo;
+
+/**
+ * Tests for {@link FuzzyIndex}.
+ */
+@DisplayName("FuzzyIndex")
+class FuzzyIndexTest {
+    /**
+     * Indexes {@code fillers} tasks that share the gram "  b" with the search text, followed by the same
+     * three tasks that match it.
+     */
+    private static FuzzyIndex indexWith(int fillers) {
+        FuzzyIndex index = new FuzzyIndex();
+        long seq = 1;
+        for (int i = 0; i < fillers; i++) {
+            index.add(seq++, new Todo("buy item " + i));
+        }
+        for (String description : new String[] {"buy milk", "bring milk home", "brown bag"}) {
+            index.add(seq++, new Todo(description));
+        }
+        return index;
+    }
+
+    private static List<String> descriptions(List<Task> tasks) {
+        return tasks.stream().map(Task::getDescription).collect(Collectors.toList());
+    }
+
+    @Test
+    @DisplayName("find: postings visited stay bounded as tasks sharing a common gram are added")
+    void find_commonGram_postingsVisitedBounded() {
+        FuzzyIndex small = indexWith(100);
+        FuzzyIndex large = indexWith(10_000);
+
+        List<String> expected = List.of("bring milk home", "buy milk");
+        assertEquals(expected, descriptions(small.find("bring milk", 10)));
+        assertEquals(expected, descriptions(large.find("bring milk", 10)));
+        assertEquals(small.countPostingsRead("bring milk"), large.countPostingsRead("bring milk"));
+        assertTrue(large.countPostingsRead("bring milk") < 20);
+    }
+
+    @Test
+    @DisplayName("find: returns the same tasks as comparing the text with every description")
+    void find_matchesExhaustiveComparison() {
+        Random random = new Random(19);
+        String[] words = {"buy", "milk", "bring", "book", "meeting", "notes", "team", "report", "read"};
+        FuzzyIndex index = new FuzzyIndex();
+        List<Task> tasks = new ArrayList<>();
+        for (int seq = 1; seq <= 500; seq++) {
+            Task task = new Todo(words[random.nextInt(words.length)] + " " + words[random.nextInt(words.length)]);
+            index.add(seq, task);
+            tasks.add(task);
+        }
+        for (String text : new String[] {"buy mlik", "meetng", "team reprt notes", "b", "xyz", ""}) {
+            Set<Long> grams = FuzzyIndex.gramsOf(text);
+            FuzzyIndex.TopMatches top = new FuzzyIndex.TopMatches(grams.size(), 10);
+            for (int i = 0; i < tasks.size(); i++) {
+                Set<Long> descriptionGrams = FuzzyIndex.gramsOf(tasks.get(i).getDescription());
+                int shared = (int) grams.stream().filter(descriptionGrams::contains).count();
+                if (shared > 0) {
+                    top.offer(i + 1, shared, descriptionGrams.size());
+                }
+            }
+            List<Task> expected = new ArrayList<>();
+            for (long seq : top.results()) {
+                expected.add(tasks.get((int) seq - 1));
+            }
+            assertEquals(expected, index.find(text, 10), text);
+        }
+    }
+}
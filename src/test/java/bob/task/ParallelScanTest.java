@@ -0,0 +1,43 @@
+package bob.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import bob.tasktype.Todo;
+
+/**
+ * Tests for {@link ParallelScan}.
+ */
+@DisplayName("ParallelScan")
+class ParallelScanTest {
+    @Test
+    @DisplayName("collectInParallel: returns the same tasks in the same order as a sequential scan")
+    void collectInParallel_matchesSequential() {
+        Task[] tasks = new Task[100_000];
+        for (int i = 0; i < tasks.length; i++) {
+            tasks[i] = (i % 7 == 0) ? null : new Todo("t" + (i % 10));
+        }
+        List<Task> expected = new ArrayList<>();
+        for (Task task : tasks) {
+            if (task != null && task.getDescription().equals("t3")) {
+                expected.add(task);
+            }
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            assertEquals(expected, ParallelScan.collectInParallel(pool, tasks.length,
+                    i -> tasks[i] != null && tasks[i].getDescription().equals("t3"), i -> tasks[i]));
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(expected, ParallelScan.collect(tasks.length, Integer.MAX_VALUE,
+                i -> tasks[i] != null && tasks[i].getDescription().equals("t3"), i -> tasks[i]));
+    }
+}
@@ -0,0 +1,75 @@
+package bob.task;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link Postings}.
+ */
+@DisplayName("Postings")
+class PostingsTest {
+    private static Postings postingsOf(long... seqs) {
+        Postings postings = new Postings();
+        for (long seq : seqs) {
+            postings.add(seq);
+        }
+        return postings;
+    }
+
+    @Test
+    @DisplayName("remove: removed entries are skipped by every read")
+    void remove_skippedByReads() {
+        Postings postings = postingsOf(1, 2, 3, 4, 5);
+
+        assertTrue(postings.remove(2));
+        assertFalse(postings.remove(2));
+        assertFalse(postings.remove(9));
+
+        assertEquals(4, postings.size());
+        assertFalse(postings.contains(2));
+        assertTrue(postings.contains(3));
+        assertArrayEquals(new long[] {1, 3, 4, 5}, postings.toArray());
+        List<Long> visited = new ArrayList<>();
+        postings.forEach(visited::add);
+        assertEquals(List.of(1L, 3L, 4L, 5L), visited);
+    }
+
+    @Test
+    @DisplayName("remove: compacting once most entries are dead keeps the rest in order")
+    void remove_mostEntries_compacts() {
+        Postings postings = postingsOf(1, 2, 3, 4, 5, 6, 7, 8);
+        for (long seq = 1; seq <= 6; seq++) {
+            postings.remove(seq);
+        }
+        postings.add(9);
+        postings.add(10);
+
+        assertEquals(4, postings.size());
+        assertArrayEquals(new long[] {7, 8, 9, 10}, postings.toArray());
+        long[] dest = new long[6];
+        postings.copyTo(dest, 2);
+        assertArrayEquals(new long[] {0, 0, 7, 8, 9, 10}, dest);
+    }
+
+    @Test
+    @DisplayName("remove: every entry can be removed and added again")
+    void remove_all_thenAdd() {
+        Postings postings = postingsOf(1, 2, 3);
+        postings.remove(3);
+        postings.remove(1);
+        postings.remove(2);
+
+        assertEquals(0, postings.size());
+        assertArrayEquals(new long[0], postings.toArray());
+        postings.add(4);
+        assertArrayEquals(new long[] {4}, postings.toArray());
+    }
+}
@@ -0,0 +1,262 @@
+package bob.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import bob.tasktype.Deadline;
+import bob.tasktype.Event;
+import bob.tasktype.Todo;
+
+/**
+ * Tests for {@link TaskList}.
+ */
+@DisplayName("TaskList")
+class TaskListTest {
+    private static List<String> descriptions(List<Task> tasks) {
+        return tasks.stream().map(Task::getDescription).collect(Collectors.toList());
+    }
+
+    private static TaskList listOf(String... descriptions) {
+        TaskList list = new TaskList();
+        for (String description : descriptions) {
+            list.add(new Todo(description));
+        }
+        return list;
+    }
+
+    @Test
+    @DisplayName("findTasksByKeyword: whole word, partial word and case-insensitive matches in list order")
+    void findTasksByKeyword_wordAndPartialWord() {
+        TaskList list = listOf("Read BOOK", "buy notebook", "cook dinner", "bookshelf assembly");
+
+        assertEquals(List.of("Read BOOK", "buy notebook", "bookshelf assembly"),
+                descriptions(list.findTasksByKeyword("book")));
+        assertEquals(List.of("Read BOOK", "buy notebook", "cook dinner", "bookshelf assembly"),
+                descriptions(list.findTasksByKeyword("oo")));
+        assertEquals(List.of("cook dinner"), descriptions(list.findTasksByKeyword("k di")));
+        assertEquals(List.of(), descriptions(list.findTasksByKeyword("booklet")));
+    }
+
+    @Test
+    @DisplayName("findTasksByKeyword: keywords without letters or digits match like substrings")
+    void findTasksByKeyword_punctuation() {
+        TaskList list = listOf("fix bug!", "plan trip", "");
+
+        assertEquals(List.of("fix bug!"), descriptions(list.findTasksByKeyword("!")));
+        assertEquals(3, list.findTasksByKeyword("").size());
+    }
+
+    @Test
+    @DisplayName("findTasksByKeyword: reflects removed tasks")
+    void findTasksByKeyword_afterRemove() {
+        TaskList list = listOf("return book", "borrow book", "read");
+
+        list.remove(0);
+        list.add(new Todo("book club"));
+
+        assertEquals(List.of("borrow book", "book club"), descriptions(list.findTasksByKeyword("book")));
+    }
+
+    @Test
+    @DisplayName("findTasksByKeyword: matches a linear substring scan on random lists")
+    void findTasksByKeyword_matchesScan() {
+        Random random = new Random(42);
+        String alphabet = "abcAB .-";
+        TaskList list = new TaskList();
+        for (int round = 0; round < 2000; round++) {
+            if (list.size() > 0 && random.nextInt(4) == 0) {
+                list.remove(random.nextInt(list.size()));
+            } else {
+                list.add(new Todo(randomText(random, alphabet, 12)));
+            }
+            String keyword = randomText(random, alphabet, 5);
+            List<String> expected = new ArrayList<>();
+            for (Task task : list.getAllTasks()) {
+                if (task.getDescription().toLowerCase().contains(keyword.toLowerCase())) {
+                    expected.add(task.getDescription());
+                }
+            }
+            assertEquals(expected, descriptions(list.findTasksByKeyword(keyword)), "keyword: " + keyword);
+        }
+    }
+
+    @Test
+    @DisplayName("findTasksFuzzy: tolerates typos and ranks closer matches first")
+    void findTasksFuzzy_ranksByTrigramSimilarity() {
+        TaskList list = listOf("team meeting notes", "meeting", "buy milk", "meet mentor", "greeting cards");
+
+        assertEquals(List.of("meeting", "team meeting notes", "meet mentor"),
+                descriptions(list.findTasksFuzzy("meetng", 10)));
+        assertEquals(List.of("meeting", "team meeting notes"), descriptions(list.findTasksFuzzy("MEETING", 2)));
+        assertEquals(List.of("buy milk"), descriptions(list.findTasksFuzzy("by milk", 10)));
+        assertEquals(List.of(), descriptions(list.findTasksFuzzy("!!", 10)));
+
+        list.remove(1);
+        assertEquals(List.of("team meeting notes", "meet mentor"), descriptions(list.findTasksFuzzy("meetng", 10)));
+    }
+
+    @Test
+    @DisplayName("getTasksOnDate: deadlines due that day and events overlapping it, in list order")
+    void getTasksOnDate_deadlinesAndOverlappingEvents() {
+        LocalDate day = LocalDate.of(2025, 1, 15);
+        TaskList list = new TaskList(
+                new Event("trip", LocalDateTime.of(2025, 1, 10, 9, 0), LocalDateTime.of(2025, 1, 20, 9, 0)),
+                new Deadline("report", LocalDateTime.of(2025, 1, 15, 23, 59)),
+                new Deadline("late", LocalDateTime.of(2025, 1, 16, 0, 0)),
+                new Todo("anytime"),
+                new Event("ends at midnight", LocalDateTime.of(2025, 1, 14, 20, 0), day.atStartOfDay()),
+                new Event("next day", LocalDateTime.of(2025, 1, 16, 0, 0), LocalDateTime.of(2025, 1, 16, 1, 0)));
+
+        assertEquals(List.of("trip", "report", "ends at midnight"), descriptions(list.getTasksOnDate(day)));
+
+        list.remove(0);
+        assertEquals(List.of("report", "ends at midnight"), descriptions(list.getTasksOnDate(day)));
+    }
+
+    @Test
+    @DisplayName("getTasksBetween: matches a linear scan on random lists")
+    void getTasksBetween_matchesScan() {
+        Random random = new Random(7);
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 0, 0);
+        TaskList list = new TaskList();
+        for (int round = 0; round < 2000; round++) {
+            if (list.size() > 0 && random.nextInt(4) == 0) {
+                list.remove(random.nextInt(list.size()));
+            } else if (random.nextBoolean()) {
+                list.add(new Deadline("d" + round, base.plusMinutes(random.nextInt(60 * 24 * 30))));
+            } else {
+                LocalDateTime from = base.plusMinutes(random.nextInt(60 * 24 * 30));
+                list.add(new Event("e" + round, from, from.plusMinutes(random.nextInt(60 * 24 * 5))));
+            }
+            LocalDate first = base.toLocalDate().plusDays(random.nextInt(30));
+            LocalDate last = first.plusDays(random.nextInt(3));
+
+            List<String> expected = new ArrayList<>();
+            for (Task task : list.getAllTasks()) {
+                if (task instanceof Deadline) {
+                    LocalDate due = ((Deadline) task).getBy().toLocalDate();
+                    if (!due.isBefore(first) && !due.isAfter(last)) {
+                        expected.add(task.getDescription());
+                    }
+                } else if (!((Event) task).getTo().isBefore(first.atStartOfDay())
+                        && ((Event) task).getFrom().isBefore(last.plusDays(1).atStartOfDay())) {
+                    expected.add(task.getDescription());
+                }
+            }
+            assertEquals(expected, descriptions(list.getTasksBetween(first, last)));
+        }
+    }
+
+    @Test
+    @DisplayName("getUrgentTasks: pending deadlines within the window, following status changes")
+    void getUrgentTasks_pendingDeadlinesInWindow() {
+        LocalDateTime now = LocalDateTime.of(2025, 1, 15, 12, 0);
+        TaskList list = new TaskList(
+                new Deadline("overdue", now.minusMinutes(1)),
+                new Deadline("soon", now.plusDays(1)),
+                new Deadline("at window end", now.plusDays(3)),
+                new Event("event soon", now.plusHours(1), now.plusHours(2)),
+                new Deadline("now", now));
+
+        assertEquals(List.of("soon", "now"), descriptions(list.getUrgentTasks(now)));
+
+        list.setStatus(1, Task.Status.DONE);
+        assertEquals(List.of("now"), descriptions(list.getUrgentTasks(now)));
+        list.setStatus(1, Task.Status.NOT_DONE);
+        list.remove(4);
+        assertEquals(List.of("soon"), descriptions(list.getUrgentTasks(now)));
+
+        list.setUrgentWindow(Duration.ofDays(4));
+        assertEquals(List.of("soon", "at window end"), descriptions(list.getUrgentTasks(now)));
+    }
+
+    @Test
+    @DisplayName("getModCount: changes on add, remove and status changes only")
+    void getModCount_changesOnMutation() {
+        TaskList list = listOf("a");
+        int initial = list.getModCount();
+
+        list.setStatus(0, Task.Status.NOT_DONE);
+        list.findTasksByKeyword("a");
+        assertEquals(initial, list.getModCount());
+
+        list.setStatus(0, Task.Status.DONE);
+        int afterMark = list.getModCount();
+        list.add(new Todo("b"));
+        int afterAdd = list.getModCount();
+        list.remove(0);
+
+        assertEquals(List.of(true, true, true), List.of(afterMark != initial, afterAdd != afterMark,
+                list.getModCount() != afterAdd));
+    }
+
+    @Test
+    @DisplayName("add: gives tasks increasing ids that survive removals")
+    void add_assignsIncreasingIds() {
+        TaskList list = listOf("a", "b", "c");
+        list.remove(1);
+        list.add(new Todo("d"));
+
+        assertEquals(List.of(1L, 3L, 4L), list.getAllTasks().stream().map(Task::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    @DisplayName("assignIds: replaces missing and out-of-order ids only")
+    void assignIds_fixesMissingAndOutOfOrderIds() {
+        Todo a = new Todo("a");
+        a.setId(4);
+        Todo c = new Todo("c");
+        c.setId(2);
+        List<Task> tasks = List.of(a, new Todo("b"), c);
+
+        assertTrue(TaskList.assignIds(tasks));
+        assertEquals(List.of(4L, 5L, 6L), tasks.stream().map(Task::getId).collect(Collectors.toList()));
+        assertFalse(TaskList.assignIds(tasks));
+    }
+
+    @Test
+    @DisplayName("get and remove: positions follow an ArrayList through tombstones and compaction")
+    void getAndRemove_matchArrayList() {
+        Random random = new Random(3);
+        TaskList list = new TaskList();
+        List<Task> expected = new ArrayList<>();
+        for (int round = 0; round < 5000; round++) {
+            if (!expected.isEmpty() && random.nextInt(5) < 2) {
+                int index = random.nextInt(expected.size());
+                assertSame(expected.remove(index), list.remove(index));
+            } else {
+                Task task = new Todo("t" + round);
+                expected.add(task);
+                list.add(task);
+            }
+            assertEquals(expected.size(), list.size());
+            if (!expected.isEmpty()) {
+                int index = random.nextInt(expected.size());
+                assertSame(expected.get(index), list.get(index));
+            }
+        }
+        assertEquals(expected, new ArrayList<>(list.getAllTasks()));
+    }
+
+    private static String randomText(Random random, String alphabet, int maxLength) {
+        StringBuilder sb = new StringBuilder();
+        int length = random.nextInt(maxLength + 1);
+        for (int i = 0; i < length; i++) {
+            sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return sb.toString();
+    }
+}
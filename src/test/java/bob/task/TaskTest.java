@@ -0,0 +1,59 @@
+package bob.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import bob.tasktype.Deadline;
+import bob.tasktype.Event;
+import bob.tasktype.Todo;
+import bob.util.DateTimeUtil;
+
+/**
+ * Tests for {@link Task#appendTo} and the task types' display forms.
+ */
+@DisplayName("Task")
+class TaskTest {
+    private static final LocalDateTime NOON = LocalDateTime.of(2025, 3, 14, 12, 30);
+    private static final LocalDateTime MIDNIGHT = LocalDateTime.of(2025, 3, 16, 0, 0);
+
+    /**
+     * Checks that appending the task after some text gives the text followed by {@code expected},
+     * and that {@code toString()} gives {@code expected}, before and after the task is marked done.
+     */
+    private static void assertRendersAs(String expectedNotDone, String expectedDone, Task task) {
+        assertEquals("1." + expectedNotDone, task.appendTo(new StringBuilder("1.")).toString());
+        assertEquals(expectedNotDone, task.toString());
+        task.markDone();
+        assertEquals("2." + expectedDone, task.appendTo(new StringBuilder("2.")).toString());
+        assertEquals(expectedDone, task.toString());
+        task.markNotDone();
+        assertEquals(expectedNotDone, task.appendTo(new StringBuilder()).toString());
+    }
+
+    @Test
+    @DisplayName("appendTo: a todo renders as [T][status] description")
+    void appendTo_todo() {
+        assertRendersAs("[T][ ] read book", "[T][X] read book", new Todo("read book"));
+    }
+
+    @Test
+    @DisplayName("appendTo: a deadline renders with its due time")
+    void appendTo_deadline() {
+        String by = " (by: " + DateTimeUtil.formatForDisplay(NOON) + ")";
+
+        assertRendersAs("[D][ ] return book" + by, "[D][X] return book" + by, new Deadline("return book", NOON));
+    }
+
+    @Test
+    @DisplayName("appendTo: an event renders with its start and end times")
+    void appendTo_event() {
+        String fromTo = " (from: " + DateTimeUtil.formatForDisplay(NOON)
+                + " to: " + DateTimeUtil.formatForDisplay(MIDNIGHT) + ")";
+
+        assertRendersAs("[E][ ] camp" + fromTo, "[E][X] camp" + fromTo, new Event("camp", NOON, MIDNIGHT));
+    }
+}
@@ -0,0 +1,98 @@
+package bob.ui;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link Ui} over redirected standard input and output.
+ */
+@DisplayName("Ui")
+class UiTest {
+    /**
+     * Output stream that counts the writes reaching it.
+     */
+    private static class CountingOutputStream extends ByteArrayOutputStream {
+        private int writes;
+
+        @Override
+        public synchronized void write(byte[] b, int off, int len) {
+            writes++;
+            super.write(b, off, len);
+        }
+
+        @Override
+        public synchronized void write(int b) {
+            writes++;
+            super.write(b);
+        }
+
+        String text() {
+            return toString(StandardCharsets.UTF_8);
+        }
+    }
+
+    private static InputStream inputOf(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("readCommand (piped): holds output until the input runs out, then returns null")
+    void readCommand_piped_flushesWhenInputRunsOut() {
+        InputStream originalIn = System.in;
+        PrintStream originalOut = System.out;
+        CountingOutputStream output = new CountingOutputStream();
+        try {
+            System.setIn(inputOf("list\n  bye  \n"));
+            System.setOut(new PrintStream(output, false, StandardCharsets.UTF_8));
+            Ui ui = new Ui(true);
+
+            assertEquals("list", ui.readCommand());
+            ui.showMessage("first answer");
+            assertEquals("bye", ui.readCommand());
+            ui.showMessage("second answer");
+            assertEquals("", output.text());
+
+            assertNull(ui.readCommand());
+            assertTrue(output.text().contains("first answer"));
+            assertTrue(output.text().contains("second answer"));
+            assertEquals(1, output.writes);
+            assertNull(ui.readCommand());
+        } finally {
+            System.setIn(originalIn);
+            System.setOut(originalOut);
+        }
+    }
+
+    @Test
+    @DisplayName("showMessage (interactive): writes out each message as it is shown")
+    void showMessage_interactive_flushesEachMessage() {
+        InputStream originalIn = System.in;
+        PrintStream originalOut = System.out;
+        CountingOutputStream output = new CountingOutputStream();
+        try {
+            System.setIn(inputOf("list\n"));
+            System.setOut(new PrintStream(output, false, StandardCharsets.UTF_8));
+            Ui ui = new Ui();
+
+            assertEquals("list", ui.readCommand());
+            ui.showMessage("first answer");
+            assertTrue(output.text().contains("first answer"));
+            ui.showMessage("second answer");
+            assertTrue(output.text().contains("second answer"));
+            assertEquals(2, output.writes);
+        } finally {
+            System.setIn(originalIn);
+            System.setOut(originalOut);
+        }
+    }
+}
@@ -76,6 +76,19 @@ class DateTimeUtilTest {
                 DateTimeUtil.parseUserDateTime("2025/01/15 1800"));
     }
 
+    @Test
+    @DisplayName("parseUserDateTime: mixed layouts throw DateTimeParseException")
+    void parseUserDateTime_mixedLayouts_throws() {
+        assertThrows(DateTimeParseException.class, () ->
+                DateTimeUtil.parseUserDateTime("2025-01-15 18:00:00"));
+        assertThrows(DateTimeParseException.class, () ->
+                DateTimeUtil.parseUserDateTime("15/1/2025-1800"));
+        assertThrows(DateTimeParseException.class, () ->
+                DateTimeUtil.parseUserDateTime("2025-01-15 18"));
+        assertThrows(DateTimeParseException.class, () ->
+                DateTimeUtil.parseUserDateTime("15/1/2025 18:0"));
+    }
+
     /* ---------- formatForDisplay ---------- */
     @Test
     @DisplayName("formatForDisplay: midnight returns date-only format (MMM dd yyyy)")